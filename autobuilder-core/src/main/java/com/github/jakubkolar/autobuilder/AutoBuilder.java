@@ -25,63 +25,93 @@
 package com.github.jakubkolar.autobuilder;
 
 import com.github.jakubkolar.autobuilder.api.BuilderDSL;
-import com.github.jakubkolar.autobuilder.impl.AutoBuilderModule;
-import com.github.jakubkolar.autobuilder.impl.BuilderDSLFactory;
-import com.github.jakubkolar.autobuilder.impl.Initializable;
-import com.github.jakubkolar.autobuilder.impl.ResolversRegistry;
+import com.github.jakubkolar.autobuilder.api.RegistryScope;
+import com.github.jakubkolar.autobuilder.api.ResolversRegistry;
 import com.github.jakubkolar.autobuilder.spi.ValueResolver;
 import com.google.common.annotations.Beta;
-import dagger.Component;
 
-import javax.inject.Singleton;
 import java.lang.annotation.Annotation;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * <em>AutoBuilder</em> is a magic builder library for unit tests on JVM.
  *
  * TODO: AB-003
  *
+ * <p> The static methods work with one default {@link AutoBuilderContext}, shared by the
+ * whole JVM, use {@link AutoBuilderContext#create()} for an isolated configuration.
+ *
  * @since 0.0.1
  */
 @Beta
 public class AutoBuilder {
 
-    private static final BuilderDSLFactory factory;
-    private static final ResolversRegistry registry;
-
     private AutoBuilder() {
         // Utility class is not instantiable, exclude this constructor from API docs
     }
 
-    @Singleton
-    @Component(modules = AutoBuilderModule.class)
-    interface AutoBuilderComponent {
-        BuilderDSLFactory getBuilderFactory();
-        ResolversRegistry getRegistry();
-        Set<Initializable> getInitBeans();
-    }
+    /**
+     * The default context, booted (including the initialization of the resolvers found by
+     * {@link java.util.ServiceLoader}) on its first use, not when {@code AutoBuilder} is
+     * loaded. No lock is held during the boot: a resolver using {@code AutoBuilder} while
+     * it is initialized then fails fast instead of waiting for the boot forever. Threads
+     * racing for the first use may each boot a context (which is cheap, the resolvers
+     * found on the classpath are shared), only one of them becomes the default.
+     */
+    private static final AtomicReference<AutoBuilderContext> defaultContext = new AtomicReference<>();
 
-    static {
-        // We use Dagger under the hood to wire things up, but we keep that as an impl. detail for now
-        AutoBuilderComponent component = DaggerAutoBuilder_AutoBuilderComponent.create();
-        // Autobuilder synchronous boot-up sequence - done only once when this class is loaded
-        component.getInitBeans().forEach(Initializable::init);
-        // Our by-now-ready-to-use factory of builder objects
-        factory = component.getBuilderFactory();
-        registry = component.getRegistry();
+    private static AutoBuilderContext defaultContext() {
+        AutoBuilderContext context = defaultContext.get();
+        if (context == null) {
+            defaultContext.compareAndSet(null, AutoBuilderContext.create());
+            context = defaultContext.get();
+        }
+        return context;
     }
 
     public static void registerValue(String name, Object value, Annotation... requiredAnnotations) {
-        registry.registerValue(name, value, requiredAnnotations);
+        defaultContext().registerValue(name, value, requiredAnnotations);
     }
 
     public static void registerResolver(ValueResolver resolver) {
-        registry.registerResolver(resolver);
+        defaultContext().registerResolver(resolver);
+    }
+
+    /**
+     * Registers several global values and resolvers as one change.
+     *
+     * <p> Builders created concurrently with this call see either all the registrations
+     * done by {@code registrations} or none of them.
+     *
+     * @param registrations registers the values and resolvers on the registry passed to it
+     *
+     * @since 0.3
+     */
+    public static void registerAtomically(Consumer<? super ResolversRegistry> registrations) {
+        defaultContext().registerAtomically(registrations);
+    }
+
+    /**
+     * Opens a scope for global values and resolvers that only the current thread sees.
+     *
+     * <pre>{@code
+     * try (RegistryScope scope = AutoBuilder.enterScope()) {
+     *     scope.registerValue("Person.name", "John");
+     *     Person person = AutoBuilder.a(Person.class).build(); // John
+     * }
+     * }</pre>
+     *
+     * @return the scope, which must be closed by the same thread
+     *
+     * @since 0.3
+     */
+    public static RegistryScope enterScope() {
+        return defaultContext().enterScope();
     }
 
     public static <T> BuilderDSL<T> instanceOf(Class<T> type) {
-        return factory.create(type);
+        return defaultContext().instanceOf(type);
     }
 
     /**
@@ -98,7 +128,7 @@ public class AutoBuilder {
      * @see #instanceOf(Class)
      */
     public static <T> BuilderDSL<T> a(Class<T> type) {
-        return factory.create(type);
+        return defaultContext().instanceOf(type);
     }
 
     /**
@@ -115,7 +145,7 @@ public class AutoBuilder {
      * @see #instanceOf(Class)
      */
     public static <T> BuilderDSL<T> an(Class<T> type) {
-        return factory.create(type);
+        return defaultContext().instanceOf(type);
     }
 
 }
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder;
+
+import com.github.jakubkolar.autobuilder.api.BuilderDSL;
+import com.github.jakubkolar.autobuilder.api.RegistryScope;
+import com.github.jakubkolar.autobuilder.api.ResolversRegistry;
+import com.github.jakubkolar.autobuilder.impl.AutoBuilderModule;
+import com.github.jakubkolar.autobuilder.impl.BuilderDSLFactory;
+import com.github.jakubkolar.autobuilder.impl.Initializable;
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.common.annotations.Beta;
+import dagger.Component;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * An isolated instance of <em>AutoBuilder</em> with its own global configuration.
+ *
+ * <p> Values and resolvers registered in a context are seen only by the builders created
+ * from that context, and the contexts do not share any state that would need locking.
+ * This way each test class (or each thread) can own its configuration without affecting
+ * the others. The static methods of {@link AutoBuilder} delegate to a default context.
+ *
+ * <p> The resolvers found on the classpath are created and initialized only once per
+ * class loader (the context class loader of the thread creating the context), and the
+ * same instances are then registered in every context created under that class loader.
+ * Creating a context thus costs little more than copying the (empty) configuration.
+ *
+ * @since 0.3
+ * @see AutoBuilder
+ */
+@Beta
+@ThreadSafe
+public final class AutoBuilderContext {
+
+    private final BuilderDSLFactory factory;
+    private final ResolversRegistry registry;
+
+    @Singleton
+    @Component(modules = AutoBuilderModule.class)
+    interface AutoBuilderComponent {
+        BuilderDSLFactory getBuilderFactory();
+        ResolversRegistry getRegistry();
+        Set<Initializable> getInitBeans();
+    }
+
+    private AutoBuilderContext(AutoBuilderComponent component) {
+        this.factory = component.getBuilderFactory();
+        this.registry = component.getRegistry();
+    }
+
+    /**
+     * @return a new context with the resolvers found on the classpath (see {@link
+     * ValueResolver}) and no other global configuration
+     * @throws IllegalStateException if called while creating or initializing one of the
+     *                               resolvers found on the classpath
+     */
+    public static AutoBuilderContext create() {
+        // We use Dagger under the hood to wire things up, but we keep that as an impl. detail for now
+        AutoBuilderComponent component = DaggerAutoBuilderContext_AutoBuilderComponent.create();
+        // Synchronous boot-up sequence of the context
+        component.getInitBeans().forEach(Initializable::init);
+        return new AutoBuilderContext(component);
+    }
+
+    public AutoBuilderContext registerValue(String name, Object value, Annotation... requiredAnnotations) {
+        registry.registerValue(name, value, requiredAnnotations);
+        return this;
+    }
+
+    public AutoBuilderContext registerResolver(ValueResolver resolver) {
+        registry.registerResolver(resolver);
+        return this;
+    }
+
+    /**
+     * @see AutoBuilder#registerAtomically(Consumer)
+     */
+    public AutoBuilderContext registerAtomically(Consumer<? super ResolversRegistry> registrations) {
+        registry.registerAtomically(registrations);
+        return this;
+    }
+
+    /**
+     * @see AutoBuilder#enterScope()
+     */
+    public RegistryScope enterScope() {
+        return registry.enterScope();
+    }
+
+    public <T> BuilderDSL<T> instanceOf(Class<T> type) {
+        return factory.create(type);
+    }
+
+    /**
+     * A shortcut for the {@link #instanceOf(Class)} method.
+     */
+    public <T> BuilderDSL<T> a(Class<T> type) {
+        return factory.create(type);
+    }
+
+    /**
+     * A shortcut for the {@link #instanceOf(Class)} method.
+     */
+    public <T> BuilderDSL<T> an(Class<T> type) {
+        return factory.create(type);
+    }
+}
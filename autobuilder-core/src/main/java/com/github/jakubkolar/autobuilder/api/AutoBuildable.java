@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.api;
+
+import com.google.common.annotations.Beta;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which a reflection-free populator should be generated at compile
+ * time.
+ *
+ * <p> When the {@code autobuilder-processor} jar is on the annotation processor path, an
+ * annotation processor generates a class named {@code AutoBuildable_<ClassName>} next to
+ * each annotated class and registers it with the {@link java.util.ServiceLoader}. The
+ * <a href="../spi/ValueResolver.html#bean_resolver">bean resolver</a> then uses it
+ * instead of reflection:
+ * <ul>
+ *     <li>instances are created by the no-argument constructor if there is one that is
+ *     not {@code private}; otherwise the usual constructor-less instantiation is
+ *     used</li>
+ *     <li>fields that are not {@code private}, {@code static} or {@code final} and are
+ *     accessible from the package of the annotated class are written directly by the
+ *     generated code; any other fields are still written reflectively</li>
+ * </ul>
+ *
+ * <p> Note that unlike with plain reflection, the constructor of the annotated class
+ * <em>is</em> invoked. The values of the fields are then overwritten as usual, so this
+ * only matters if the constructor has side effects.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ * @see com.github.jakubkolar.autobuilder.spi.GeneratedPopulator
+ */
+@Beta
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface AutoBuildable {
+}
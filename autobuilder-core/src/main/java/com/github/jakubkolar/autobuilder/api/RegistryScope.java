@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.api;
+
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.common.annotations.Beta;
+
+import java.lang.annotation.Annotation;
+import java.util.function.Consumer;
+
+/**
+ * Registrations visible only to the thread that entered the scope, and only until the
+ * scope is closed. They are layered on top of the global configuration, which stays
+ * untouched (and still visible, including its later changes).
+ *
+ * <p> Meant to be used with try-with-resources, or opened in a test setup and closed in
+ * its cleanup. Scopes can be nested, a nested scope is layered on top of the outer one
+ * (so its registrations take precedence) and has to be closed first.
+ *
+ * <p> Unlike the registry, a scope must only be used by the thread that entered it.
+ */
+@Beta
+public interface RegistryScope extends ResolversRegistry, AutoCloseable {
+
+    @Override
+    RegistryScope registerValue(String name, Object value, Annotation... requiredAnnotations);
+
+    @Override
+    RegistryScope registerResolver(ValueResolver resolver);
+
+    @Override
+    RegistryScope registerAtomically(Consumer<? super ResolversRegistry> registrations);
+
+    /**
+     * Drops everything registered in this scope, restoring the configuration of the outer
+     * scope (if any). Closing a closed scope does nothing.
+     */
+    @Override
+    void close();
+}
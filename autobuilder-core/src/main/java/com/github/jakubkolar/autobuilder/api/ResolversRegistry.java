@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.api;
+
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.common.annotations.Beta;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.annotation.Annotation;
+import java.util.function.Consumer;
+
+/**
+ * API for registering global resolvers. The global registry is available through {@link
+ * com.github.jakubkolar.autobuilder.AutoBuilder}, or through an {@link
+ * com.github.jakubkolar.autobuilder.AutoBuilderContext} for a configuration of its own.
+ *
+ * @see ValueResolver
+ */
+@Beta
+@ThreadSafe
+public interface ResolversRegistry {
+
+    ResolversRegistry registerValue(String name, Object value, Annotation... requiredAnnotations);
+
+    ResolversRegistry registerResolver(ValueResolver resolver);
+
+    /**
+     * Applies all the registrations done by {@code registrations} (on the registry passed
+     * to it) as one change: a builder created concurrently sees either all of them or none.
+     */
+    ResolversRegistry registerAtomically(Consumer<? super ResolversRegistry> registrations);
+
+    /**
+     * Opens a scope of the current thread, see {@link RegistryScope}.
+     */
+    RegistryScope enterScope();
+
+}
@@ -25,6 +25,7 @@
 package com.github.jakubkolar.autobuilder.impl;
 
 import com.github.jakubkolar.autobuilder.api.BuilderDSL;
+import com.github.jakubkolar.autobuilder.api.ResolversRegistry;
 import dagger.Module;
 import dagger.Provides;
 import org.objenesis.Objenesis;
@@ -36,34 +37,26 @@ public class AutoBuilderModule {
     @Provides
     public BuilderDSLFactory getFactory(
             BeanResolverFactory beanResolverFactory,
-            ResolversRegistryImpl registry,
-            BuiltInResolvers builtInResolvers) {
+            ResolversRegistryImpl registry) {
         return new BuilderDSLFactory() {
             @Override
             public <T> BuilderDSL<T> create(Class<T> type) {
-                // TODO: This is a consequence of synchronized getters that give a totally
-                // false sense of thread safety, to be strictly consistent we want to avoid
-                // this (would be possible without synchronized):
-                // (first) T1: factory.create
-                // (during that) T2: registry.registerValue followed by registry.registerResolver,
-                // possible result: only registerValue is observed by the resulting builder
-                synchronized (registry) {
-                    return new BuilderImpl<>(type,
-                            new NamedResolver(),
-                            new ResolverChain(),
-                            new ResolverChain(
-                                    registry.getGlobalValues(),
-                                    registry.getGlobalResolvers(),
-                                    builtInResolvers),
-                            beanResolverFactory);
-                }
+                Initialization.checkNotInProgress();
+                // A consistent snapshot, registrations done in one registerAtomically call
+                // are either all observed or none of them
+                return new BuilderImpl<>(type,
+                        new NamedResolver(),
+                        new ResolverChain(),
+                        registry.getSnapshot().getGlobalChain(),
+                        beanResolverFactory);
             }
         };
     }
 
     @Provides
     public Objenesis getObjenesis() {
-        return new ObjenesisStd();
+        // No caching here, instantiators are cached by the InstantiatorCache singleton
+        return new ObjenesisStd(false);
     }
 
     @Provides(type = Provides.Type.SET)
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.GeneratedPopulator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reflective description of a bean type as seen by the {@link BeanResolver}.
+ *
+ * <p> The field discovery (walking the superclass chain, filtering out static and Groovy
+ * meta-class fields, making the fields accessible) is done only once per class. The
+ * result is kept in a {@link ClassValue}, so it does not prevent the class from being
+ * unloaded.
+ *
+ * <p> If there is a {@link GeneratedPopulator} for the class, it is used to instantiate
+ * the class and to write its fields instead of reflection wherever possible.
+ */
+final class BeanMetadata {
+
+    private static final ClassValue<BeanMetadata> cache = new ClassValue<BeanMetadata>() {
+        @Override
+        protected BeanMetadata computeValue(Class<?> type) {
+            return new BeanMetadata(type);
+        }
+    };
+
+    @Nullable
+    private final GeneratedPopulator<?> generatedPopulator;
+    private final List<FieldMetadata> fields;
+    private final BeanPopulator populator;
+
+    /**
+     * Distinct types of the primitive fields
+     */
+    private final Set<Class<?>> primitiveTypes;
+    private volatile BeanPopulator primitiveDefaultsPopulator;
+
+    private BeanMetadata(Class<?> type) {
+        this.generatedPopulator = GeneratedPopulators.forType(type);
+        this.fields = discoverFields(type, generatedPopulator);
+        this.populator = BeanPopulator.of(fields);
+
+        ImmutableSet.Builder<Class<?>> primitives = ImmutableSet.builder();
+        for (FieldMetadata field : fields) {
+            if (field.getType().isPrimitive()) {
+                primitives.add(field.getType());
+            }
+        }
+        this.primitiveTypes = primitives.build();
+    }
+
+    public static BeanMetadata of(Class<?> type) {
+        return cache.get(type);
+    }
+
+    public List<FieldMetadata> getFields() {
+        return fields;
+    }
+
+    public BeanPopulator getPopulator() {
+        return populator;
+    }
+
+    public Set<Class<?>> getPrimitiveTypes() {
+        return primitiveTypes;
+    }
+
+    /**
+     * @return populator that writes the built-in default values to all the primitive
+     * fields, without boxing them, the values for these fields are ignored
+     */
+    public BeanPopulator getPrimitiveDefaultsPopulator() {
+        // Built lazily, most beans never need it; a race only builds it twice
+        BeanPopulator result = primitiveDefaultsPopulator;
+        if (result == null) {
+            result = primitiveTypes.isEmpty() ? populator : BeanPopulator.of(fields, true);
+            primitiveDefaultsPopulator = result;
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new instance using the generated code, if possible.
+     *
+     * @return the new instance, or {@code null} if it has to be created reflectively
+     */
+    @Nullable
+    public Object newInstance() {
+        return generatedPopulator != null ? generatedPopulator.newInstance() : null;
+    }
+
+    private static List<FieldMetadata> discoverFields(Class<?> type, @Nullable GeneratedPopulator<?> generatedPopulator) {
+        ImmutableList.Builder<FieldMetadata> result = ImmutableList.builder();
+
+        Class<?> currentType = type;
+        while (currentType != null && !currentType.equals(Object.class)) {
+            for (Field field : currentType.getDeclaredFields()) {
+                // Do not touch static fields
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+
+                // Groovy will initialize this in the getter
+                if (isGroovyMetaClass(type, field)) {
+                    continue;
+                }
+
+                result.add(new FieldMetadata(field, generatedPopulator));
+            }
+            currentType = currentType.getSuperclass();
+        }
+
+        return result.build();
+    }
+
+    private static boolean isGroovyMetaClass(Class<?> resolvedType, Field field) {
+        if (field.getType().getName().equals("groovy.lang.MetaClass") && field.getName().equals("metaClass")) {
+            // Java-based groovy objects
+            if (field.getDeclaringClass().getName().equals("groovy.lang.GroovyObjectSupport")) {
+                return true;
+            }
+
+            // Groovy objects compiled with groovyc
+            if (field.getDeclaringClass().equals(resolvedType) && field.isSynthetic()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.google.common.base.Throwables;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Writes already resolved values to all the fields of a bean at once.
+ *
+ * <p> When every field of the bean has a {@link FieldWriter} bound to a method handle,
+ * the writers are compiled into a single method handle tree specialized for the bean
+ * class. The JVM spins that tree into bytecode of its own (the same machinery that backs
+ * lambdas), so once it is hot a call to {@link #populate} costs about the same as a
+ * sequence of direct {@code putfield}s. Otherwise, the writers are simply invoked one by
+ * one.
+ *
+ * <p> The method handle tree is one level deeper (and one frame deeper on the stack) for
+ * every field, and building it costs more than the plain loop. It still pays off for beans
+ * of a few dozen fields (see {@code FieldWriterBenchmark}), so only beans with more than
+ * {@link #MAX_COMPILED_FIELDS} fields fall back to the loop.
+ *
+ * <p> A populator can also write the built-in default values to all the primitive fields
+ * itself, ignoring the values passed for them. In the compiled form, the defaults are
+ * bound to the primitive setters as primitives, so they are never boxed and unboxed.
+ */
+abstract class BeanPopulator {
+
+    private static final MethodType POPULATOR_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    /**
+     * Larger beans are populated by the writers one by one
+     */
+    static final int MAX_COMPILED_FIELDS = 64;
+
+    /**
+     * Writes {@code values[i]} to the i-th field of the bean (or the default value, if
+     * this populator writes defaults to the i-th field).
+     *
+     * @param instance the bean to populate
+     * @param values   values in the same order as the fields passed to {@link #of}
+     */
+    public abstract void populate(Object instance, Object[] values) throws IllegalAccessException;
+
+    public static BeanPopulator of(List<FieldMetadata> fields) {
+        return of(fields, false);
+    }
+
+    /**
+     * @param primitiveDefaults if {@code true}, the primitive fields get the values of
+     *                          {@link BuiltInResolvers#defaultValueOf}, regardless of the
+     *                          values passed to {@link #populate}
+     */
+    public static BeanPopulator of(List<FieldMetadata> fields, boolean primitiveDefaults) {
+        return of(fields, primitiveDefaults, MAX_COMPILED_FIELDS);
+    }
+
+    static BeanPopulator of(List<FieldMetadata> fields, boolean primitiveDefaults, int maxCompiledFields) {
+        Object[] defaults = new Object[fields.size()];
+        boolean compilable = fields.size() <= maxCompiledFields;
+        for (int i = 0; i < defaults.length; i++) {
+            FieldWriter writer = fields.get(i).getWriter();
+            if (primitiveDefaults && fields.get(i).getType().isPrimitive()) {
+                defaults[i] = BuiltInResolvers.defaultValueOf(fields.get(i).getType());
+                compilable &= writer.getPrimitiveSetter() != null;
+            }
+            compilable &= writer.getSetter() != null;
+        }
+
+        WriterLoop writerLoop = new WriterLoop(fields, defaults);
+        if (!compilable) {
+            return writerLoop;
+        }
+
+        try {
+            return new Compiled(compile(fields, defaults), writerLoop);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Method handle composition is not expected to fail, but if it does there is
+            // always the slower way
+            return writerLoop;
+        }
+    }
+
+    private static MethodHandle compile(List<FieldMetadata> fields, Object[] defaults) throws ReflectiveOperationException {
+        MethodHandle elementGetter = MethodHandles.arrayElementGetter(Object[].class);
+        MethodHandle result = MethodHandles.lookup().findStatic(BeanPopulator.class, "noop", POPULATOR_TYPE);
+
+        // Folding prepends the writes, so go backwards to keep the original field order
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            FieldWriter writer = fields.get(i).getWriter();
+            MethodHandle write;
+            if (defaults[i] != null) {
+                // (Object, P)void -> (Object, Object[])void writing the default, the
+                // bound value is kept as a primitive by the method handle
+                write = MethodHandles.dropArguments(
+                        MethodHandles.insertArguments(writer.getPrimitiveSetter(), 1, defaults[i]),
+                        1,
+                        Object[].class);
+            } else {
+                // (Object, Object)void -> (Object, Object[])void writing values[i]
+                write = MethodHandles.filterArguments(
+                        writer.getSetter(),
+                        1,
+                        MethodHandles.insertArguments(elementGetter, 1, i));
+            }
+            result = MethodHandles.foldArguments(result, write);
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unused")
+    private static void noop(Object instance, Object[] values) {
+        // The end of the compiled chain of writes
+    }
+
+    private static final class Compiled extends BeanPopulator {
+
+        private final MethodHandle populator;
+        private final WriterLoop writerLoop;
+
+        Compiled(MethodHandle populator, WriterLoop writerLoop) {
+            this.populator = populator;
+            this.writerLoop = writerLoop;
+        }
+
+        @Override
+        public void populate(Object instance, Object[] values) throws IllegalAccessException {
+            try {
+                populator.invokeExact(instance, values);
+            } catch (ClassCastException | NullPointerException e) {
+                // Some value does not fit its field, the writers one by one tell which one
+                writerLoop.populate(instance, values);
+                throw e;
+            } catch (Throwable e) {
+                // Just like in FieldWriter, only unchecked exceptions can happen here
+                throw Throwables.propagate(e);
+            }
+        }
+    }
+
+    private static final class WriterLoop extends BeanPopulator {
+
+        private final FieldWriter[] writers;
+        private final Object[] defaults;
+
+        WriterLoop(List<FieldMetadata> fields, Object[] defaults) {
+            this.writers = new FieldWriter[fields.size()];
+            for (int i = 0; i < writers.length; i++) {
+                writers[i] = fields.get(i).getWriter();
+            }
+            this.defaults = defaults;
+        }
+
+        @Override
+        public void populate(Object instance, Object[] values) throws IllegalAccessException {
+            for (int i = 0; i < writers.length; i++) {
+                writers[i].write(instance, defaults[i] != null ? defaults[i] : values[i]);
+            }
+        }
+    }
+}
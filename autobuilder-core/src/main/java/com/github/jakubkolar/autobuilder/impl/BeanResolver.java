@@ -0,0 +1,346 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.ResolutionException;
+import com.github.jakubkolar.autobuilder.spi.ResolutionFailure;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Instantiates beans and resolves their fields using the {@code fieldsResolver}.
+ *
+ * <p> The object graph is not resolved recursively, but iteratively using an explicit
+ * stack of beans waiting for their fields to be resolved: when a field of a bean is to be
+ * resolved by this resolver again, the new bean is only instantiated and pushed on the
+ * stack. This way even very deep object graphs can be resolved without running out of
+ * the call stack.
+ *
+ * <p> Cycles in the object graph are broken by back-references: if a bean of the same
+ * type is already being resolved on the path from the root to the current field, the
+ * existing instance is used instead of creating a new one (e.g. a {@code Node} with a
+ * field {@code Node next} will reference itself). This is not done if there are any named
+ * values under the path of the field (e.g. {@code with("next.name", "second")}), such a
+ * field gets a new bean, and its own fields of the same type reference the new bean.
+ *
+ * <p> If a custom resolver uses the same builder while a field is being resolved, the
+ * result is a separate object graph, built completely before the resolver gets it.
+ */
+class BeanResolver implements NonThrowingValueResolver {
+
+    private final InstantiatorCache instantiators;
+
+    /**
+     * Resolution in progress in the current thread, if any, used by nested calls of
+     * {@link #tryResolve} for the fields of the beans being resolved.
+     */
+    private final ThreadLocal<Resolution> currentResolution = new ThreadLocal<>();
+
+    @Nullable
+    private ResolverChain fieldsResolver;
+
+    @Inject
+    public BeanResolver(InstantiatorCache instantiators) {
+        this.instantiators = instantiators;
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        // Primitives cannot be instantiated, everything else can be at least attempted
+        return !type.isPrimitive();
+    }
+
+    @Nullable
+    @Override
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        // Objects should be resolved by Built-in resolvers, otherwise we are trying
+        // to resolve some non-reifiable type and we can only say that is of type Object
+        // (e.g. type variable T)
+        if (Objects.equals(type, Object.class)) {
+            return Unresolved.because(
+                String.format(
+                    "Cannot resolve value for non-reifiable type '%s' with name %s " +
+                    "annotated with %s because the actual class to be resolved cannot be " +
+                    "determined at runtime (at least in a safe way that would avoid " +
+                    "ClassCastException)",
+                    typeInfo.get(), name, annotations.toString()));
+        }
+
+        Resolution outer = currentResolution.get();
+        if (outer != null && outer.isResolvingField(name)) {
+            // A field of a bean that is being resolved, its own fields are resolved later
+            return outer.add(type, name, annotations);
+        }
+
+        // Otherwise this is the root of a new object graph, possibly built by a custom
+        // resolver (using this very builder) while resolving a field of the outer graph
+        Resolution resolution = new Resolution();
+        currentResolution.set(resolution);
+        try {
+            Object instance = resolution.add(type, name, annotations);
+            if (!(instance instanceof Unresolved)) {
+                resolution.run();
+            }
+            return instance;
+        } catch (UnsupportedOperationException e) {
+            return Unresolved.because(e);
+        } finally {
+            if (outer == null) {
+                currentResolution.remove();
+            } else {
+                currentResolution.set(outer);
+            }
+        }
+    }
+
+    private <T> T instantiate(Class<T> type, BeanMetadata metadata) {
+        Object generated = metadata.newInstance();
+        T instance = generated != null ? type.cast(generated) : instantiators.newInstance(type);
+
+        // TODO: unsupported operation exception here?
+        return Preconditions.checkNotNull(instance);
+    }
+
+    private ResolutionFailure cannotResolve(Bean<?> bean, Throwable e) {
+        if (e instanceof ResolutionException) {
+            // Some of the fields cannot be resolved, details are in the nested failure
+            return cannotResolveField(bean, ((ResolutionException) e).getFailure());
+        }
+
+        return ResolutionFailure.of(this, bean.type, bean.name,
+            String.format(
+                "Cannot resolve value for type %s with name %s annotated with %s because of %s: %s",
+                bean.type.toString(), bean.name, bean.annotations.toString(), e.getClass().getSimpleName(), e.getMessage()),
+            e);
+    }
+
+    private ResolutionFailure cannotResolveField(Bean<?> bean, ResolutionFailure fieldFailure) {
+        return ResolutionFailure.of(this, bean.type, bean.name,
+            String.format(
+                "Cannot resolve value for type %s with name %s annotated with %s because of its field:",
+                bean.type.toString(), bean.name, bean.annotations.toString()),
+            null,
+            fieldFailure);
+    }
+
+    /**
+     * @return the chain to resolve the fields of a bean with the given name, without the
+     * named values if there are none for the bean and its fields
+     */
+    private ResolverChain fieldsResolverFor(String name, @Nullable Bean<?> parent) {
+        ResolverChain allResolvers = Preconditions.checkNotNull(fieldsResolver, "Field resolver was not properly initialized!");
+        if (parent != null && parent.fieldsResolver != allResolvers) {
+            // No named values under the parent, and so none under this bean
+            return parent.fieldsResolver;
+        }
+        return allResolvers.hasNamedValuesUnder(name) ? allResolvers : allResolvers.withoutNamedValues();
+    }
+
+    public void setFieldsResolver(@Nonnull ResolverChain fieldsResolver) {
+        this.fieldsResolver = fieldsResolver;
+    }
+
+    /**
+     * A bean that has been instantiated, but its fields have not been resolved yet.
+     */
+    private static final class Bean<T> {
+        final Class<T> type;
+        final String name;
+        final Collection<Annotation> annotations;
+        @Nullable
+        final Bean<?> parent;
+        final ResolverChain fieldsResolver;
+
+        @Nullable
+        T instance;
+        @Nullable
+        BeanMetadata metadata;
+
+        Bean(Class<T> type, String name, Collection<Annotation> annotations, @Nullable Bean<?> parent, ResolverChain fieldsResolver) {
+            this.type = type;
+            this.name = name;
+            this.annotations = annotations;
+            this.parent = parent;
+            this.fieldsResolver = fieldsResolver;
+        }
+    }
+
+    /**
+     * Resolution of a single object graph.
+     */
+    private final class Resolution {
+
+        private final Deque<Bean<?>> pending = new ArrayDeque<>();
+
+        @Nullable
+        private Bean<?> current;
+
+        /**
+         * Path of the field of the current bean that is being resolved, if any
+         */
+        @Nullable
+        private String fieldPath;
+
+        /**
+         * @return {@code true} if this resolution asked for the name, and not e.g. a
+         * custom resolver using the same builder
+         */
+        boolean isResolvingField(String name) {
+            return name.equals(fieldPath);
+        }
+
+        /**
+         * @return the instance of the bean or {@link Unresolved} if it cannot be instantiated
+         */
+        <T> Object add(Class<T> type, String name, Collection<Annotation> annotations) {
+            ResolverChain beanFieldsResolver = fieldsResolverFor(name, current);
+
+            // Cycle: reuse the bean of the same type on the path from the root, unless
+            // there are named values for the fields of this bean (only then the chain
+            // keeps the named values)
+            if (beanFieldsResolver != fieldsResolver) {
+                for (Bean<?> ancestor = current; ancestor != null; ancestor = ancestor.parent) {
+                    if (ancestor.type.equals(type)) {
+                        return ancestor.instance;
+                    }
+                }
+            }
+
+            Bean<T> bean = new Bean<>(type, name, annotations, current, beanFieldsResolver);
+            try {
+                bean.metadata = BeanMetadata.of(type);
+                bean.instance = instantiate(type, bean.metadata);
+            }
+            // Any kind of exceptions can happen here, because with Objenesis,
+            // reflection and who-knows-what-other hacks are involved
+            catch (Exception | InstantiationError e) { //TODO: catch the Inst.Error or not?
+                return Unresolved.because(cannotResolve(bean, e));
+            }
+
+            pending.push(bean);
+            return bean.instance;
+        }
+
+        void run() {
+            while (!pending.isEmpty()) {
+                Bean<?> bean = pending.pop();
+                current = bean;
+                try {
+                    populate(bean);
+                } catch (Exception e) {
+                    // The beans are not populated recursively, so wrap the failure in all
+                    // the enclosing beans to report the whole path from the root
+                    ResolutionFailure failure = cannotResolve(bean, e);
+                    for (Bean<?> ancestor = bean.parent; ancestor != null; ancestor = ancestor.parent) {
+                        failure = cannotResolveField(ancestor, failure);
+                    }
+                    throw new ResolutionException(failure);
+                }
+            }
+        }
+
+        private void populate(Bean<?> bean) throws IllegalAccessException {
+            BeanMetadata metadata = Preconditions.checkNotNull(bean.metadata);
+            boolean primitiveDefaults = hasOnlyDefaultPrimitives(bean, metadata);
+            // Decided only when the first String field comes
+            Boolean stringDefaults = null;
+            List<FieldMetadata> fields = metadata.getFields();
+            Object[] values = new Object[fields.size()];
+            for (int i = 0; i < values.length; i++) {
+                FieldMetadata field = fields.get(i);
+                if (primitiveDefaults && field.getType().isPrimitive()) {
+                    // Written by the populator, no need to box the value here
+                    continue;
+                }
+                if (field.getType() == String.class) {
+                    if (stringDefaults == null) {
+                        stringDefaults = bean.fieldsResolver.resolvesOnlyBuiltIn(String.class);
+                    }
+                    if (stringDefaults) {
+                        // The same as the built-in resolvers would resolve, but reused
+                        values[i] = field.getDefaultString(bean.name);
+                        continue;
+                    }
+                }
+                Object value = resolveField(bean, field);
+                if (value instanceof Unresolved) {
+                    throw new ResolutionException(ResolutionFailure.of(
+                            bean.fieldsResolver,
+                            field.getType(),
+                            field.getPath(bean.name),
+                            (Unresolved) value));
+                }
+                values[i] = value;
+            }
+            BeanPopulator populator = primitiveDefaults ? metadata.getPrimitiveDefaultsPopulator() : metadata.getPopulator();
+            populator.populate(bean.instance, values);
+        }
+
+        @Nullable
+        private Object resolveField(Bean<?> bean, FieldMetadata field) {
+            fieldPath = field.getPath(bean.name);
+            try {
+                return bean.fieldsResolver.tryResolve(
+                        field.getType(),
+                        field.getGenericType(),
+                        fieldPath,
+                        field.getAnnotations());
+            } finally {
+                fieldPath = null;
+            }
+        }
+
+        /**
+         * @return {@code true} if all the primitive fields of the bean would be resolved by the
+         * built-in resolvers, i.e. to their default values
+         */
+        private boolean hasOnlyDefaultPrimitives(Bean<?> bean, BeanMetadata metadata) {
+            Set<Class<?>> primitiveTypes = metadata.getPrimitiveTypes();
+            if (primitiveTypes.isEmpty()) {
+                return false;
+            }
+            for (Class<?> primitiveType : primitiveTypes) {
+                if (!bean.fieldsResolver.resolvesOnlyBuiltIn(primitiveType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -24,21 +24,18 @@
 
 package com.github.jakubkolar.autobuilder.impl;
 
-import org.objenesis.Objenesis;
-
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 class BeanResolverFactory {
 
-    private final Provider<Objenesis> objenesisProvider;
+    private final InstantiatorCache instantiators;
 
     @Inject
-    public BeanResolverFactory(Provider<Objenesis> objenesisProvider) {
-        this.objenesisProvider = objenesisProvider;
+    public BeanResolverFactory(InstantiatorCache instantiators) {
+        this.instantiators = instantiators;
     }
 
     public BeanResolver create() {
-        return new BeanResolver(objenesisProvider.get());
+        return new BeanResolver(instantiators);
     }
 }
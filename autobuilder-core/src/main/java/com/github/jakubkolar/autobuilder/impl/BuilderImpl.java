@@ -29,6 +29,7 @@ import com.github.jakubkolar.autobuilder.spi.ValueResolver;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -50,7 +51,7 @@ class BuilderImpl<T> implements BuilderDSL<T> {
      - chain: built-in resolvers
      - bean resolver
      */
-    private final ValueResolver rootResolver;
+    private final ResolverChain rootResolver;
 
     public BuilderImpl(Class<T> type, NamedResolver localValues, ResolverChain localChain, ResolverChain globalChain, BeanResolverFactory factory) {
         this.type = type;
@@ -70,8 +71,8 @@ class BuilderImpl<T> implements BuilderDSL<T> {
                 globalChain,
                 beanResolver);
 
-        // This will allow for a recursive object graph resolution
-        // TODO: cycles in the object graph will lead to stack overflow
+        // This will allow for a recursive object graph resolution (cycles in the
+        // object graph are handled by the bean resolver)
         beanResolver.setFieldsResolver(this.rootResolver);
     }
 
@@ -86,12 +87,21 @@ class BuilderImpl<T> implements BuilderDSL<T> {
 
     @Override
     public BuilderDSL<T> with(Map<String, Object> properties) {
-        // TODO: this can be optimized
-        BuilderDSL<T> result = this;
+        if (properties.isEmpty()) {
+            return this;
+        }
+
+        // All the properties at once, so that just one new builder is created
+        Map<String, Object> values = new LinkedHashMap<>(properties.size() * 4 / 3 + 1);
         for (Entry<String, Object> prop : properties.entrySet()) {
-            result = result.with(prop.getKey(), prop.getValue());
+            values.put(type.getSimpleName() + '.' + prop.getKey(), prop.getValue());
         }
-        return result;
+
+        return new BuilderImpl<>(type,
+                localValues.addAll(values),
+                localChain,
+                globalChain,
+                factory);
     }
 
     @Override
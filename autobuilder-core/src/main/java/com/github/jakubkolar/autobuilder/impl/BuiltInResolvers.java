@@ -0,0 +1,376 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
+import com.google.common.primitives.Primitives;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * TODO: Aggressive / Generic resolvers, should be executed last, given order
+ */
+class BuiltInResolvers implements NonThrowingValueResolver {
+
+    @FunctionalInterface
+    public interface ResolveFunc<T> {
+        /**
+         * @return the resolved value or {@link Unresolved#INSTANCE} if the function cannot resolve it
+         */
+        @Nullable
+        Object apply(Class<T> type, Optional<Type> typeInfo, String name);
+    }
+
+    /**
+     * What the built-in resolvers resolve for a given class
+     */
+    private enum Kind {
+        /** Nothing, the class is not supported */
+        NONE,
+        /** {@code "any_" + name} */
+        STRING,
+        /** {@code new StringBuilder("any_" + name)} */
+        STRING_BUILDER,
+        /**
+         * A value that is the same for every name, and that can be shared because it is
+         * immutable (primitive wrappers, empty collections, enum constants and zero-length
+         * arrays)
+         */
+        CONSTANT,
+        /** {@code Object} or {@code Comparable}, resolved based on the type information */
+        GENERIC_SENSITIVE
+    }
+
+    private static final class Classification {
+        final Kind kind;
+        @Nullable
+        final Object value;
+
+        Classification(Kind kind, @Nullable Object value) {
+            this.kind = kind;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Primitive wrappers and empty collections, in the order in which they are tried
+     */
+    private static final Object[][] CONSTANTS = {
+            {Integer.class, int.class, Integer.MIN_VALUE},
+            {Long.class, long.class, Long.MIN_VALUE},
+            {Float.class, float.class, Float.NaN},
+            {Double.class, double.class, Double.NaN},
+            {Byte.class, byte.class, Byte.MIN_VALUE},
+            {Short.class, short.class, Short.MIN_VALUE},
+            {Boolean.class, boolean.class, false},
+            {Character.class, char.class, Character.MIN_VALUE},
+            {List.class, null, Collections.emptyList()},
+            {Set.class, null, Collections.emptySet()},
+            {SortedSet.class, null, Collections.emptySortedSet()},
+            {Map.class, null, Collections.emptyMap()},
+            {SortedMap.class, null, Collections.emptySortedMap()},
+    };
+
+    /**
+     * Which of the built-in resolvers applies to a class is decided only once per class,
+     * resolving a field is then a single lookup
+     */
+    private static final ClassValue<Classification> CLASSIFICATION = new ClassValue<Classification>() {
+        @Override
+        protected Classification computeValue(Class<?> type) {
+            return classify(type);
+        }
+    };
+
+    @Inject
+    public BuiltInResolvers() {
+    }
+
+    /**
+     * @return {@code true} if the built-in resolvers resolve the class whatever the name
+     * and type information are, e.g. {@code String} or {@code int}
+     */
+    static boolean alwaysResolves(Class<?> type) {
+        Kind kind = CLASSIFICATION.get(type).kind;
+        return kind != Kind.NONE && kind != Kind.GENERIC_SENSITIVE;
+    }
+
+    /**
+     * @param type a class that does not depend on names or type information, e.g. {@code
+     *             int}
+     * @return the value the built-in resolvers resolve for the class, or {@code null}
+     */
+    @Nullable
+    static Object defaultValueOf(Class<?> type) {
+        Classification classification = CLASSIFICATION.get(type);
+        return classification.kind == Kind.CONSTANT ? classification.value : null;
+    }
+
+    /**
+     * @return the value resolved for a {@code String} with the given name
+     */
+    static String defaultString(String name) {
+        return "any_" + name;
+    }
+
+    /**
+     * Decides the same way as the individual resolvers, in the same order, but without
+     * the type information (which matters only for the generic-sensitive types)
+     */
+    private static Classification classify(Class<?> type) {
+        if (type.isAssignableFrom(Object.class) || type.isAssignableFrom(Comparable.class)) {
+            return new Classification(Kind.GENERIC_SENSITIVE, null);
+        }
+        if (type.isAssignableFrom(String.class)) {
+            return new Classification(Kind.STRING, null);
+        }
+        if (type.isAssignableFrom(StringBuilder.class)) {
+            return new Classification(Kind.STRING_BUILDER, null);
+        }
+        for (Object[] constant : CONSTANTS) {
+            if (type.isAssignableFrom((Class<?>) constant[0]) || type.equals(constant[1])) {
+                return new Classification(Kind.CONSTANT, constant[2]);
+            }
+        }
+        if (type.isEnum()) {
+            return new Classification(Kind.CONSTANT, firstEnumConstant(type));
+        }
+        if (type.isArray()) {
+            return new Classification(Kind.CONSTANT, Array.newInstance(type.getComponentType(), 0));
+        }
+        return new Classification(Kind.NONE, null);
+    }
+
+    @Nullable
+    private static Object firstEnumConstant(Class<?> enumType) {
+        // Note: getEnumConstants() returns a new copy of the array each time
+        Object[] constants = enumType.getEnumConstants();
+        return constants.length > 0 ? constants[0] : null;
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return CLASSIFICATION.get(type).kind != Kind.NONE;
+    }
+
+    @Override
+    public boolean isTypeOnly() {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        Classification classification = CLASSIFICATION.get(type);
+        switch (classification.kind) {
+            case NONE:
+                return Unresolved.INSTANCE;
+            case STRING:
+                return defaultString(name);
+            case STRING_BUILDER:
+                return new StringBuilder("any_" + name);
+            case CONSTANT:
+                return classification.value;
+            default:
+                // The result depends on the type information
+                return resolveGenericSensitive(type, typeInfo, name);
+        }
+    }
+
+    @Nullable
+    private static <T> Object resolveGenericSensitive(Class<T> type, Optional<Type> typeInfo, String name) {
+        return resolveWith(type, typeInfo, name,
+                BuiltInResolvers::stringResolver,
+                BuiltInResolvers::primitiveTypeResolver,
+                BuiltInResolvers::enumResolver,
+                BuiltInResolvers::collectionResolver,
+                BuiltInResolvers::arrayResolver
+        );
+    }
+
+    @Nullable
+    @SafeVarargs
+    private static <T> Object resolveWith(Class<T> type, Optional<Type> typeInfo, String name, ResolveFunc<T>... functions) {
+        for (ResolveFunc<T> resolver : functions) {
+            Object result = resolver.apply(type, typeInfo, name);
+            if (result != Unresolved.INSTANCE) {
+                return result;
+            }
+            // Try next resolver
+        }
+
+        return Unresolved.INSTANCE;
+    }
+
+    private static boolean isSafeAssignable(Class<?> from, Class<?> to, Optional<Type> toTypeInfo) {
+        // We may be really resolving an Object, but we may also be
+        // resolving a field of type T of a generic class,
+        // for which we got 'to == Object.class'
+        if (to.isAssignableFrom(Object.class)) {
+            // If we know nothing more, then be better safe and reject to resolve
+            if (!toTypeInfo.isPresent()) {
+                return false;
+            }
+
+            // Raw type? => we are really trying to resolve an Object
+            // Anything else => better reject to resolve to avoid ClassCastException
+            return toTypeInfo.get() instanceof Class;
+        }
+        else if (to.isAssignableFrom(Comparable.class)) {
+            // Make sure we are really resolving a Comparable<T>, not
+            // something crazy like 'T extends Comparable<? super Comparable<Integer>>'
+            if (!toTypeInfo.isPresent()
+                    || !(toTypeInfo.get() instanceof ParameterizedType)
+                    || ((ParameterizedType) toTypeInfo.get()).getActualTypeArguments().length != 1) {
+                return false;
+            }
+
+            // What is the 'T' in Comparable<T> ?
+            Type typeArgument = ((ParameterizedType) toTypeInfo.get()).getActualTypeArguments()[0];
+
+            // We only allow the resolution if typeArgument is raw type and is the same
+            // as the raw type of the resolved object; that is we allow e.g. String to be
+            // resolved for Comparable<String>, but not for Comparable<Integer>
+            return to.isAssignableFrom(from) && Objects.equals(typeArgument, from);
+        } else {
+            return to.isAssignableFrom(from);
+        }
+    }
+
+    @Nullable
+    private static <T> Object stringResolver(Class<T> type, Optional<Type> typeInfo, String name) {
+        if (isSafeAssignable(String.class, type, typeInfo)) {
+            return type.cast(defaultString(name));
+        }
+        else if (isSafeAssignable(StringBuilder.class, type, typeInfo)) {
+            return type.cast(new StringBuilder("any_" + name));
+        }
+
+        return Unresolved.INSTANCE;
+    }
+
+    @Nullable
+    private static <T> Object primitiveTypeResolver(Class<T> type, Optional<Type> typeInfo, String name) {
+        if (isSafeAssignable(Integer.class, type, typeInfo) || type.isAssignableFrom(int.class)) {
+            return Primitives.wrap(type).cast(Integer.MIN_VALUE);
+        }
+        else if (isSafeAssignable(Long.class, type, typeInfo) || type.isAssignableFrom(long.class)) {
+            return Primitives.wrap(type).cast(Long.MIN_VALUE);
+        }
+        else if (isSafeAssignable(Float.class, type, typeInfo) || type.isAssignableFrom(float.class)) {
+            return Primitives.wrap(type).cast(Float.NaN);
+        }
+        else if (isSafeAssignable(Double.class, type, typeInfo) || type.isAssignableFrom(double.class)) {
+            return Primitives.wrap(type).cast(Double.NaN);
+        }
+        else if (isSafeAssignable(Byte.class, type, typeInfo) || type.isAssignableFrom(byte.class)) {
+            return Primitives.wrap(type).cast(Byte.MIN_VALUE);
+        }
+        else if (isSafeAssignable(Short.class, type, typeInfo) || type.isAssignableFrom(short.class)) {
+            return Primitives.wrap(type).cast(Short.MIN_VALUE);
+        }
+        else if (isSafeAssignable(Boolean.class, type, typeInfo) || type.isAssignableFrom(boolean.class)) {
+            return Primitives.wrap(type).cast(false);
+        }
+        else if (isSafeAssignable(Character.class, type, typeInfo) || type.isAssignableFrom(char.class)) {
+            return Primitives.wrap(type).cast(Character.MIN_VALUE);
+        }
+
+        return Unresolved.INSTANCE;
+    }
+
+    @Nullable
+    private static <T> Object enumResolver(Class<T> type, Optional<Type> typeInfo, String name) {
+        if (type.isEnum()) {
+            return CLASSIFICATION.get(type).value;
+        }
+
+        // Maybe we are to resolve Comparable<Enum>
+        if (type.isAssignableFrom(Comparable.class)
+                && typeInfo.isPresent()
+                && typeInfo.get() instanceof ParameterizedType
+                && ((ParameterizedType) typeInfo.get()).getActualTypeArguments().length == 1) {
+
+            // What is the 'T' in Comparable<T> ?
+            Type typeArgument = ((ParameterizedType) typeInfo.get()).getActualTypeArguments()[0];
+
+            // If 'T' is an Enum, we require it to have at least one constant otherwise we would
+            // have to resolve it as 'null', which is not a good choice for Comparable
+            if (typeArgument instanceof Class && ((Class<?>) typeArgument).isEnum()) {
+                Object firstConstant = CLASSIFICATION.get((Class<?>) typeArgument).value;
+                if (firstConstant != null) {
+                    return type.cast(firstConstant);
+                }
+            }
+        }
+
+        return Unresolved.INSTANCE;
+    }
+
+    @Nullable
+    private static <T> Object collectionResolver(Class<T> type, Optional<Type> typeInfo, String name) {
+        if (isSafeAssignable(List.class, type, typeInfo)) {
+            return type.cast(Collections.emptyList());
+        }
+        else if (isSafeAssignable(Set.class, type, typeInfo)) {
+            return type.cast(Collections.emptySet());
+        }
+        else if (isSafeAssignable(SortedSet.class, type, typeInfo)) {
+            return type.cast(Collections.emptySortedSet());
+        }
+        else if (isSafeAssignable(Map.class, type, typeInfo)) {
+            return type.cast(Collections.emptyMap());
+        }
+        else if (isSafeAssignable(SortedMap.class, type, typeInfo)) {
+            return type.cast(Collections.emptySortedMap());
+        }
+
+        return Unresolved.INSTANCE;
+    }
+
+    @Nullable
+    private static <T> Object arrayResolver(Class<T> type, Optional<Type> typeInfo, String name) {
+        if (type.isArray()) {
+            return CLASSIFICATION.get(type).value;
+        }
+
+        return Unresolved.INSTANCE;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Primitives;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Narrows the types supported by a resolver to the types declared for it in the resolver
+ * index, so that the chain does not even ask it for other types.
+ *
+ * @see ResolverIndex
+ */
+final class DeclaredTypesResolver implements NonThrowingValueResolver {
+
+    private final NonThrowingValueResolver delegate;
+    private final ValueResolver original;
+    private final ImmutableList<Class<?>> types;
+
+    DeclaredTypesResolver(ValueResolver resolver, Collection<Class<?>> types) {
+        this.delegate = ValueResolverAdapter.adapt(resolver);
+        this.original = resolver;
+        this.types = ImmutableList.copyOf(types);
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        // A resolver of e.g. Integer resolves int fields too
+        Class<?> wrapped = Primitives.wrap(type);
+        for (Class<?> declared : types) {
+            if (declared.isAssignableFrom(wrapped)) {
+                return delegate.supports(type);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isTypeOnly() {
+        return delegate.isTypeOnly();
+    }
+
+    @Nullable
+    @Override
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        return delegate.tryResolve(type, typeInfo, name, annotations);
+    }
+
+    @Nullable
+    @Override
+    public <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        return original.resolve(type, typeInfo, name, annotations);
+    }
+
+    public ValueResolver getOriginal() {
+        return original;
+    }
+
+    public Collection<Class<?>> getTypes() {
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return original.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.jakubkolar.autobuilder.impl;
 
-import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -11,7 +12,7 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
-class ExactTypeConstantResolver<T> implements ValueResolver {
+class ExactTypeConstantResolver<T> implements NonThrowingValueResolver {
 
     private final Class<T> type;
     @Nullable
@@ -23,16 +24,22 @@ class ExactTypeConstantResolver<T> implements ValueResolver {
     }
 
     @Override
-    public <R> R resolve(Class<R> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+    public boolean supports(Class<?> type) {
+        return Objects.equals(type, this.type);
+    }
+
+    @Nullable
+    @Override
+    public <R> Object tryResolve(Class<R> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
         // This is not a "greedy" resolver and resolves just the given type
         // It would be confusing for the user if they requested e.g. 'AtomicInteger'
         // to be resolved as 'this.value', and this resolver would resolve e.g. a field
         // of type 'Number' with a given atomic integer
         if (Objects.equals(type, this.type)) {
-            return type.cast(value);
+            return value;
         }
 
-        throw new UnsupportedOperationException(this + " cannot resolve type " + type.getSimpleName());
+        return Unresolved.INSTANCE;
     }
 
     @Override
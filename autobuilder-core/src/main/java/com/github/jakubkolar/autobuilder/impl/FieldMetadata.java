@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.GeneratedPopulator;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Everything the {@link BeanResolver} needs to know about a single field, discovered
+ * once per field and shared by all builders.
+ */
+final class FieldMetadata {
+
+    private final Field field;
+    private final Class<?> type;
+    private final Optional<Type> genericType;
+    private final List<Annotation> annotations;
+    private final FieldWriter writer;
+
+    /**
+     * The last few paths of this field in object graphs (with the default values of
+     * {@code String} fields), so that repeated builds reuse the same strings. Each entry
+     * is immutable, so racy updates are harmless.
+     */
+    private final Path[] paths = new Path[PATHS_PER_FIELD];
+    private int nextPath;
+
+    private static final int PATHS_PER_FIELD = 4;
+
+    FieldMetadata(Field field, @Nullable GeneratedPopulator<?> generatedPopulator) {
+        BiConsumer<Object, Object> generatedSetter = generatedPopulator != null
+                ? generatedPopulator.getSetter(field)
+                : null;
+
+        if (generatedSetter == null) {
+            // Done once here, so that writing the field later does not pay for it
+            field.setAccessible(true);
+            this.writer = FieldWriter.of(field);
+        } else {
+            this.writer = FieldWriter.of(field, generatedSetter);
+        }
+
+        this.field = field;
+        this.type = field.getType();
+        this.genericType = Optional.ofNullable(field.getGenericType());
+        this.annotations = ImmutableList.copyOf(Arrays.asList(field.getAnnotations()));
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Optional<Type> getGenericType() {
+        return genericType;
+    }
+
+    public List<Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    public FieldWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * @param parentPath path of the bean with this field, e.g. {@code Person.address}
+     * @return path of this field, e.g. {@code Person.address.city}, the same instance for
+     * the same parent path, as long as the field is not used under too many different
+     * paths
+     */
+    public String getPath(String parentPath) {
+        return pathFor(parentPath).path;
+    }
+
+    /**
+     * @param parentPath path of the bean with this {@code String} field, e.g. {@code
+     *                   Person.address}
+     * @return the value the built-in resolvers resolve for this field, e.g. {@code
+     * any_Person.address.city}, reused the same way as {@link #getPath}
+     */
+    public String getDefaultString(String parentPath) {
+        return Preconditions.checkNotNull(pathFor(parentPath).defaultString, "Not a String field: %s", field);
+    }
+
+    private Path pathFor(String parentPath) {
+        Path[] cached = paths;
+        for (Path path : cached) {
+            if (path != null && (path.parent == parentPath || path.parent.equals(parentPath))) {
+                return path;
+            }
+        }
+
+        String fieldPath = parentPath + '.' + field.getName();
+        Path path = new Path(parentPath, fieldPath,
+                type == String.class ? BuiltInResolvers.defaultString(fieldPath) : null);
+        int i = nextPath;
+        cached[i] = path;
+        nextPath = (i + 1) % PATHS_PER_FIELD;
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return field.toString();
+    }
+
+    private static final class Path {
+        final String parent;
+        final String path;
+        @Nullable
+        final String defaultString;
+
+        Path(String parent, String path, @Nullable String defaultString) {
+            this.parent = parent;
+            this.path = path;
+            this.defaultString = defaultString;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.google.common.base.Throwables;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes values to a single field of a bean.
+ *
+ * <p> The field is bound to a {@link MethodHandle} setter once, so that each write is
+ * a plain {@code invokeExact} the JIT can inline, instead of going through the access
+ * checks of {@link Field#set(Object, Object)} every time. If the setter cannot be
+ * obtained (e.g. for a {@code final} field on some JVMs), the writer falls back to the
+ * reflective {@code Field.set}.
+ *
+ * <p> For classes annotated with {@link com.github.jakubkolar.autobuilder.api.AutoBuildable}
+ * the writer can also be bound to a setter from the generated code, in which case the
+ * field does not even have to be made accessible.
+ */
+final class FieldWriter {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle ACCEPT;
+
+    static {
+        try {
+            ACCEPT = MethodHandles.publicLookup().findVirtual(BiConsumer.class, "accept", SETTER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Field field;
+    @Nullable
+    private final MethodHandle setter;
+    @Nullable
+    private final MethodHandle primitiveSetter;
+
+    private FieldWriter(Field field, @Nullable MethodHandle setter, @Nullable MethodHandle primitiveSetter) {
+        this.field = field;
+        this.setter = setter;
+        this.primitiveSetter = primitiveSetter;
+    }
+
+    /**
+     * Binds a writer to the given field, the field must already be accessible.
+     */
+    public static FieldWriter of(Field field) {
+        MethodHandle setter;
+        MethodHandle primitiveSetter;
+        try {
+            MethodHandle exactSetter = MethodHandles.lookup().unreflectSetter(field);
+            setter = exactSetter.asType(SETTER_TYPE);
+            primitiveSetter = field.getType().isPrimitive()
+                    ? exactSetter.asType(MethodType.methodType(void.class, Object.class, field.getType()))
+                    : null;
+        } catch (IllegalAccessException e) {
+            setter = null;
+            primitiveSetter = null;
+        }
+        return new FieldWriter(field, setter, primitiveSetter);
+    }
+
+    /**
+     * Binds a writer to a setter generated at compile time.
+     */
+    public static FieldWriter of(Field field, BiConsumer<Object, Object> generatedSetter) {
+        return new FieldWriter(field, ACCEPT.bindTo(generatedSetter), null);
+    }
+
+    public void write(Object instance, @Nullable Object value) throws IllegalAccessException {
+        if (setter == null) {
+            field.set(instance, value);
+            return;
+        }
+
+        try {
+            setter.invokeExact(instance, value);
+        } catch (ClassCastException | NullPointerException e) {
+            // A value of a wrong type, or null for a primitive field
+            throw illegalValue(value, e);
+        } catch (Throwable e) {
+            // The setter does not throw any checked exceptions
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * @return the same kind of exception (and message) as {@link Field#set} throws for a
+     * value that cannot be written to the field
+     */
+    private IllegalArgumentException illegalValue(@Nullable Object value, Throwable cause) {
+        return new IllegalArgumentException(String.format("Can not set %s field %s.%s to %s",
+                field.getType().getTypeName(),
+                field.getDeclaringClass().getName(),
+                field.getName(),
+                value == null ? "null value" : value.getClass().getName()), cause);
+    }
+
+    /**
+     * The bound setter of type {@code (Object, Object)void}, or {@code null} if this
+     * writer uses the reflective fallback.
+     */
+    @Nullable
+    public MethodHandle getSetter() {
+        return setter;
+    }
+
+    /**
+     * The bound setter of type {@code (Object, P)void} for a field of primitive type
+     * {@code P}, so that the value does not need to be boxed, or {@code null} if the
+     * field is not primitive or this writer does not use a method handle for the field.
+     */
+    @Nullable
+    public MethodHandle getPrimitiveSetter() {
+        return primitiveSetter;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldWriter[" + field + (setter == null ? ", reflective]" : "]");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.GeneratedPopulator;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Lookup of the {@link GeneratedPopulator}s generated for classes annotated with
+ * {@link com.github.jakubkolar.autobuilder.api.AutoBuildable}.
+ *
+ * <p> The populator of a class is looked up in the class loader of that very class, once
+ * per class. A class value does not keep the classes (nor their class loaders) alive, and
+ * classes loaded later by other class loaders find their populators too.
+ */
+final class GeneratedPopulators {
+
+    private static final ClassValue<Optional<GeneratedPopulator<?>>> POPULATORS =
+            new ClassValue<Optional<GeneratedPopulator<?>>>() {
+                @Override
+                protected Optional<GeneratedPopulator<?>> computeValue(Class<?> type) {
+                    return Optional.ofNullable(load(type));
+                }
+            };
+
+    private GeneratedPopulators() {
+        // Utility class is not instantiable
+    }
+
+    @Nullable
+    public static GeneratedPopulator<?> forType(Class<?> type) {
+        return POPULATORS.get(type).orElse(null);
+    }
+
+    @Nullable
+    private static GeneratedPopulator<?> load(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            // JDK classes are never annotated
+            return null;
+        }
+        for (GeneratedPopulator<?> populator : ServiceLoader.load(GeneratedPopulator.class, classLoader)) {
+            if (populator.getType() == type) {
+                return populator;
+            }
+        }
+        return null;
+    }
+}
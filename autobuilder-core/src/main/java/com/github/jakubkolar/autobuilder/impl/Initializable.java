@@ -28,6 +28,11 @@ package com.github.jakubkolar.autobuilder.impl;
  * *** INTERNAL ***
  *
  * <p> Objects that may be initialized during the {@code AutoBuilder} boot sequence.
+ *
+ * <p> The resolvers found on the classpath are initialized in parallel, on threads of
+ * their own, while the boot sequence waits for them. An {@link #init()} must not use
+ * {@code AutoBuilder} or create an {@code AutoBuilderContext}, since these would wait for
+ * the very same boot sequence; it fails with an {@code IllegalStateException} instead.
  */
 public interface Initializable {
 
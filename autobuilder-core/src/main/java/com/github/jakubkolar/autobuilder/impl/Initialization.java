@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * *** INTERNAL ***
+ *
+ * <p> Marks the threads that create and initialize the resolvers found on the classpath,
+ * so that a resolver using {@code AutoBuilder} from its constructor or {@link
+ * Initializable#init()} fails fast. Otherwise it would wait for the boot of the default
+ * context, which in turn waits for the resolver, forever.
+ *
+ * <p> Checked by {@link ResolversRegistryImpl#init()} (i.e. by the boot of any context)
+ * and by the builder factory of the context.
+ */
+final class Initialization {
+
+    private static final ThreadLocal<Boolean> inProgress = new ThreadLocal<>();
+
+    /**
+     * Number of threads in progress, so that the thread local is not even looked up when
+     * there are none (i.e. nearly always)
+     */
+    private static final AtomicInteger threads = new AtomicInteger();
+
+    private Initialization() {
+        // Utility class is not instantiable
+    }
+
+    static void run(Runnable initialization) {
+        if (inProgress.get() != null) {
+            // Nested, e.g. the init of a single resolver on the loading thread
+            initialization.run();
+            return;
+        }
+
+        threads.incrementAndGet();
+        inProgress.set(Boolean.TRUE);
+        try {
+            initialization.run();
+        } finally {
+            inProgress.remove();
+            threads.decrementAndGet();
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if called by a thread creating or initializing the
+     *                               resolvers
+     */
+    static void checkNotInProgress() {
+        if (threads.get() > 0 && inProgress.get() != null) {
+            throw new IllegalStateException("AutoBuilder cannot be used while the resolvers found on "
+                    + "the classpath are created or initialized, e.g. in the constructor or init() of "
+                    + "such a resolver");
+        }
+    }
+}
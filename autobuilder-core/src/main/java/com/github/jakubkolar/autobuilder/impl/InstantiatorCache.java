@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import org.objenesis.Objenesis;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache of Objenesis {@link ObjectInstantiator}s, one per class.
+ *
+ * <p> Choosing the instantiation strategy for a class is the expensive part of Objenesis,
+ * so it is done only once per class for all the builders, and not once per builder.
+ */
+@Singleton
+@ThreadSafe
+class InstantiatorCache {
+
+    private final Objenesis objenesis;
+    private final ClassValue<ObjectInstantiator<?>> instantiators;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Inject
+    public InstantiatorCache(Objenesis objenesis) {
+        this.objenesis = objenesis;
+        this.instantiators = new ClassValue<ObjectInstantiator<?>>() {
+            @Override
+            protected ObjectInstantiator<?> computeValue(Class<?> type) {
+                misses.increment();
+                return InstantiatorCache.this.objenesis.getInstantiatorOf(type);
+            }
+        };
+    }
+
+    public <T> T newInstance(Class<T> type) {
+        lookups.increment();
+        return type.cast(instantiators.get(type).newInstance());
+    }
+
+    /**
+     * @return number of lookups that found an already cached instantiator
+     */
+    public long getHits() {
+        return lookups.sum() - misses.sum();
+    }
+
+    /**
+     * @return number of lookups that had to create a new instantiator (can be slightly
+     * higher than the number of classes if a class is first used by several threads at
+     * the same time)
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "InstantiatorCache[hits=" + getHits() + ", misses=" + getMisses() + ']';
+    }
+}
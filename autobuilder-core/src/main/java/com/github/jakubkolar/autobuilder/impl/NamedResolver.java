@@ -0,0 +1,307 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
+import com.google.common.primitives.Primitives;
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+class NamedResolver implements NonThrowingValueResolver {
+
+    /*
+     * TODO AB-020:
+     * global named resolvers register values under their name and type, that  is you can
+     * register more resolvers for different types under the same name... this is probably
+     * confusing for a local resolver within a builder instance, because each name (field)
+     * has unique type, but if you accidentally register a value of a wrong type, it will
+     * not be found and you won't get any error... instead it should refuse the
+     * registration with "wrong type for field"
+     *
+     * Followup:
+     * The concept of AutoBuilder.registerValue(name, value) should be revisited...
+     * as it is implemented now it requires a class name and then a path in the obj.
+     * graph separated by dots. From this I do not see why would someone register the
+     * same name with different types, that would only be confusing.
+     */
+
+    /**
+     * Name -> values registered under that name by type. Persistent map, so that adding a
+     * value shares almost everything with the original resolver. Two levels, so that the
+     * lookup does not need to allocate a composite key.
+     */
+    private final PersistentHashMap<String, TypeTable> namedValues;
+
+    /**
+     * All the (wrapped) types of the registered values, as keys
+     */
+    private final PersistentHashMap<Class<?>, Boolean> registeredTypes;
+
+    /**
+     * Is there a value registered for any type (null)?
+     */
+    private final boolean anyType;
+
+    /**
+     * All the proper prefixes of the registered names, as keys (e.g. {@code Person} and
+     * {@code Person.address} for {@code Person.address.city})
+     */
+    private final PersistentHashMap<String, Boolean> prefixes;
+
+    public NamedResolver() {
+        this(PersistentHashMap.empty(), PersistentHashMap.empty(), false, PersistentHashMap.empty());
+    }
+
+    private NamedResolver(PersistentHashMap<String, TypeTable> namedValues,
+                          PersistentHashMap<Class<?>, Boolean> registeredTypes, boolean anyType,
+                          PersistentHashMap<String, Boolean> prefixes) {
+        this.namedValues = namedValues;
+        this.registeredTypes = registeredTypes;
+        this.anyType = anyType;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * @param prefix a path in the object graph, e.g. {@code Person.address}
+     * @return {@code true} if there are any values registered under the path, e.g.
+     * {@code Person.address.city}
+     */
+    public boolean hasValuesUnder(String prefix) {
+        return prefixes.containsKey(prefix);
+    }
+
+    private static PersistentHashMap<String, Boolean> withPrefixesOf(String name, PersistentHashMap<String, Boolean> prefixes) {
+        PersistentHashMap<String, Boolean> result = prefixes;
+        for (int dot = name.indexOf('.'); dot >= 0; dot = name.indexOf('.', dot + 1)) {
+            result = result.with(name.substring(0, dot), Boolean.TRUE);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return anyType || registeredTypes.containsKey(Primitives.wrap(type));
+    }
+
+    @Nullable
+    @Override
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        // If type is primitive like int.class, we must use its wrapper type
+        // because the wrapper type is used as a part of the key in the namedValues
+        // and also because int.class cannot be used in the end to 'unbox' the result
+        // (same in BuiltInResolvers.primitiveTypeResolver, you would get ClassCastException)
+        Class<T> wrappedType = Primitives.wrap(type);
+
+        TypeTable values = namedValues.get(name);
+        if (values == null) {
+            // The common case - most of the fields are not registered by name,
+            // so do not bother with formatting a message nobody will read
+            return Unresolved.INSTANCE;
+        }
+
+        RegisteredValue rv = values.get(wrappedType);
+        if (rv == null) {
+            // TODO: try to lookup null, which this way applies to _any_ type
+            rv = values.get(null);
+            if (rv == null) {
+                return Unresolved.INSTANCE;
+            }
+        }
+
+        for (Annotation requiredAnnotation : rv.getAnnotations()) {
+            if (!annotations.contains(requiredAnnotation)) {
+                return Unresolved.because(String.format(
+                    "The named value with name %s and type %s requires annotations %s, " +
+                    "but only these annotations were present: %s",
+                    name, type.getSimpleName(), requiredAnnotation, annotations));
+            }
+        }
+
+        try {
+            return wrappedType.cast(rv.getValue());
+        } catch (ClassCastException e) {
+            return Unresolved.because(new UnsupportedOperationException(String.format(
+                "Named value %s cannot be converted to the required type %s because of: %s",
+                name, type.getSimpleName(), e.getMessage()), e));
+        }
+    }
+
+    public NamedResolver add(String name, @Nullable Object value, Collection<Annotation> requiredAnnotations) {
+        return new Draft(this).add(name, value, requiredAnnotations).build();
+    }
+
+    /**
+     * Adds all the values at once, creating just one new resolver.
+     *
+     * @param values values by their names, {@code null} values are allowed
+     * @return resolver with all the values added
+     */
+    public NamedResolver addAll(Map<String, ?> values) {
+        Draft draft = new Draft(this);
+        for (Entry<String, ?> entry : values.entrySet()) {
+            draft.add(entry.getKey(), entry.getValue(), Collections.emptyList());
+        }
+        return draft.build();
+    }
+
+    public NamedResolver add(String name, @Nullable Object value, Annotation... requiredAnnotations) {
+        return add(name, value, Arrays.asList(requiredAnnotations));
+    }
+
+    /**
+     * New values being added to a resolver, the maps are still persistent, but no
+     * intermediate resolvers are created for each value and each of its supertypes.
+     */
+    private static final class Draft {
+        private PersistentHashMap<String, TypeTable> namedValues;
+        private PersistentHashMap<Class<?>, Boolean> registeredTypes;
+        private boolean anyType;
+        private PersistentHashMap<String, Boolean> prefixes;
+
+        Draft(NamedResolver original) {
+            this.namedValues = original.namedValues;
+            this.registeredTypes = original.registeredTypes;
+            this.anyType = original.anyType;
+            this.prefixes = original.prefixes;
+        }
+
+        Draft add(String name, @Nullable Object value, Collection<Annotation> requiredAnnotations) {
+            TypeTable oldTable = namedValues.get(name);
+            TypeTable table = oldTable != null ? oldTable : TypeTable.EMPTY;
+            if (value == null) {
+                // TODO: this may be a problem since for null there is no Class, so how to look it up?
+                table = table.with(null, new RegisteredValue(null, requiredAnnotations));
+                anyType = true;
+            } else {
+                table = contributeValue(table, value.getClass(), new RegisteredValue(value, requiredAnnotations));
+            }
+
+            if (table != oldTable) {
+                namedValues = namedValues.with(name, table);
+                prefixes = withPrefixesOf(name, prefixes);
+            }
+            return this;
+        }
+
+        private TypeTable contributeValue(TypeTable table, @Nullable Class<?> type, RegisteredValue value) {
+            if (type == null || table.get(type) != null) {
+                return table;
+            }
+
+            TypeTable result = table.with(type, value);
+            registeredTypes = registeredTypes.with(type, Boolean.TRUE);
+
+            result = contributeValue(result, type.getSuperclass(), value);
+
+            for (Class<?> iface : type.getInterfaces()) {
+                result = contributeValue(result, iface, value);
+            }
+
+            return result;
+        }
+
+        NamedResolver build() {
+            return new NamedResolver(namedValues, registeredTypes, anyType, prefixes);
+        }
+    }
+
+    /**
+     * Values registered under a single name, by type (null for any type). There are
+     * only a few types for each name (a class and its supertypes), so a linear search by
+     * identity is enough.
+     */
+    private static final class TypeTable {
+        static final TypeTable EMPTY = new TypeTable(new Class<?>[0], new RegisteredValue[0]);
+
+        private final Class<?>[] types;
+        private final RegisteredValue[] values;
+
+        private TypeTable(Class<?>[] types, RegisteredValue[] values) {
+            this.types = types;
+            this.values = values;
+        }
+
+        @Nullable
+        RegisteredValue get(@Nullable Class<?> type) {
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] == type) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        TypeTable with(@Nullable Class<?> type, RegisteredValue value) {
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] == type) {
+                    RegisteredValue[] newValues = values.clone();
+                    newValues[i] = value;
+                    return new TypeTable(types, newValues);
+                }
+            }
+            Class<?>[] newTypes = Arrays.copyOf(types, types.length + 1);
+            RegisteredValue[] newValues = Arrays.copyOf(values, values.length + 1);
+            newTypes[types.length] = type;
+            newValues[values.length] = value;
+            return new TypeTable(newTypes, newValues);
+        }
+    }
+
+    private static class RegisteredValue {
+        @Nullable
+        private final Object value;
+        private final Collection<Annotation> annotations;
+
+        RegisteredValue(@Nullable Object value, Collection<Annotation> annotations) {
+            this.value = value;
+            this.annotations = annotations;
+        }
+
+        @Nullable
+        public Object getValue() {
+            return value;
+        }
+
+        public Collection<Annotation> getAnnotations() {
+            return annotations;
+        }
+
+        @Override
+        public String toString() {
+            return ReflectionToStringBuilder.toString(this, ToStringStyle.NO_CLASS_NAME_STYLE);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map with structural sharing (hash array mapped trie).
+ *
+ * <p> {@link #with} returns a new map that shares all but {@code O(log n)} nodes with the
+ * original one, so a long sequence of maps derived from each other (like the values of
+ * builders created by {@code with(...)}) takes little more memory than the last of them.
+ *
+ * <p> Neither keys nor values can be {@code null}.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+@Immutable
+final class PersistentHashMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final PersistentHashMap EMPTY = new PersistentHashMap(BitmapNode.EMPTY, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentHashMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    @Nullable
+    public V get(Object key) {
+        return root.get(key, hash(key), 0);
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return a map with the given entry added or replaced, or this map if it already
+     * contains the same value under the key
+     */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+        boolean[] added = new boolean[1];
+        Node<K, V> newRoot = root.put(key, value, hash(key), 0, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        forEach((k, v) -> result.append(result.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return result.append('}').toString();
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private abstract static class Node<K, V> {
+
+        @Nullable
+        abstract V get(Object key, int hash, int shift);
+
+        /**
+         * @return the node with the entry, or this node if nothing changed
+         */
+        abstract Node<K, V> put(K key, V value, int hash, int shift, boolean[] added);
+
+        abstract void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    /**
+     * Node with up to 32 slots, the present ones are marked in the bitmap. The array
+     * contains a key and a value for each present slot, or {@code null} and a child node.
+     */
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+
+        @SuppressWarnings("rawtypes")
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        V get(Object key, int hash, int shift) {
+            int bit = 1 << index(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            if (k == null) {
+                return ((Node<K, V>) array[i + 1]).get(key, hash, shift + BITS);
+            }
+            return key.equals(k) ? (V) array[i + 1] : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added) {
+            int bit = 1 << index(hash, shift);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode<>(bitmap | bit, newArray);
+            }
+
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node<K, V> child = (Node<K, V>) v;
+                Node<K, V> newChild = child.put(key, value, hash, shift + BITS, added);
+                return newChild == child ? this : replace(i + 1, newChild);
+            }
+            if (key.equals(k)) {
+                return value == v ? this : replace(i + 1, value);
+            }
+
+            added[0] = true;
+            Object[] newArray = array.clone();
+            newArray[i] = null;
+            newArray[i + 1] = pair((K) k, (V) v, key, value, hash, shift + BITS);
+            return new BitmapNode<>(bitmap, newArray);
+        }
+
+        private BitmapNode<K, V> replace(int i, Object element) {
+            Object[] newArray = array.clone();
+            newArray[i] = element;
+            return new BitmapNode<>(bitmap, newArray);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> Node<K, V> pair(K key1, V value1, K key2, V value2, int hash2, int shift) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode<>(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            boolean[] ignored = new boolean[1];
+            return ((Node<K, V>) EMPTY)
+                    .put(key1, value1, hash1, shift, ignored)
+                    .put(key2, value2, hash2, shift, ignored);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node<K, V>) array[i + 1]).forEach(action);
+                } else {
+                    action.accept((K) array[i], (V) array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keys with the same full hash code, compared one by one.
+     */
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        V get(Object key, int hash, int shift) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return (V) array[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added) {
+            if (hash != this.hash) {
+                // Push this node one level down, next to the new key
+                Node<K, V> node = new BitmapNode<>(1 << index(this.hash, shift), new Object[] {null, this});
+                return node.put(key, value, hash, shift, added);
+            }
+
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (array[i + 1] == value) {
+                        return this;
+                    }
+                    Object[] newArray = array.clone();
+                    newArray[i + 1] = value;
+                    return new CollisionNode<>(hash, newArray);
+                }
+            }
+
+            added[0] = true;
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return new CollisionNode<>(hash, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept((K) array[i], (V) array[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.google.common.collect.MapMaker;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide cache of the types rejected by {@link NonThrowingValueResolver#isTypeOnly()
+ * type-only} resolvers.
+ *
+ * <p> Such a resolver decides only based on the type and the type information, so once
+ * it rejects them, it can be skipped whenever they are requested again, by any builder.
+ * The cache references both the resolvers and the classes weakly (so e.g. the resolvers of
+ * short-lived builders can be garbage collected, and the classes can be unloaded), and
+ * only the resolvers and classes with some rejections have an entry.
+ *
+ * <p> The lookups do not allocate, but they are not free either, so a chain only looks up
+ * the classes for which the resolver has rejected something before (see {@link
+ * #hasRejections}).
+ */
+@ThreadSafe
+final class RejectionCache {
+
+    /**
+     * Stands for an empty type information, which may lead to a different result than
+     * having the raw class as the type information
+     */
+    private static final Type NO_TYPE_INFO = new Type() {
+        @Override
+        public String toString() {
+            return "<no type info>";
+        }
+    };
+
+    /**
+     * Resolver -> class -> rejected type information. Weak keys are compared by identity.
+     */
+    private static final ConcurrentMap<NonThrowingValueResolver, ConcurrentMap<Class<?>, Set<Type>>> REJECTED =
+            new MapMaker().weakKeys().makeMap();
+
+    private static final LongAdder AVOIDED = new LongAdder();
+    private static final LongAdder RECORDED = new LongAdder();
+
+    private RejectionCache() {
+    }
+
+    /**
+     * @return {@code true} if the resolver has rejected the class with any type
+     * information before
+     */
+    public static boolean hasRejections(NonThrowingValueResolver resolver, Class<?> type) {
+        return rejectedBy(resolver, type) != null;
+    }
+
+    public static boolean isRejected(NonThrowingValueResolver resolver, Class<?> type, Optional<Type> typeInfo) {
+        Set<Type> rejected = rejectedBy(resolver, type);
+        if (rejected != null && rejected.contains(typeInfo.orElse(NO_TYPE_INFO))) {
+            AVOIDED.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public static void reject(NonThrowingValueResolver resolver, Class<?> type, Optional<Type> typeInfo) {
+        Set<Type> rejected = REJECTED
+                .computeIfAbsent(resolver, r -> new MapMaker().weakKeys().concurrencyLevel(1).makeMap())
+                .computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet());
+        if (rejected.add(typeInfo.orElse(NO_TYPE_INFO))) {
+            RECORDED.increment();
+        }
+    }
+
+    @Nullable
+    private static Set<Type> rejectedBy(NonThrowingValueResolver resolver, Class<?> type) {
+        ConcurrentMap<Class<?>, Set<Type>> rejected = REJECTED.get(resolver);
+        return rejected == null ? null : rejected.get(type);
+    }
+
+    /**
+     * @return number of resolver calls that were avoided thanks to this cache
+     */
+    public static long getAvoidedCalls() {
+        return AVOIDED.sum();
+    }
+
+    /**
+     * @return number of rejections recorded in this cache
+     */
+    public static long getRecordedRejections() {
+        return RECORDED.sum();
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.ResolutionFailure;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.MapMaker;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tries the resolvers one by one, the first one that resolves the instance wins.
+ *
+ * <p> Only the resolvers that {@link NonThrowingValueResolver#supports support} the
+ * requested class are tried. The indexes of these candidate resolvers are computed once
+ * per class and cached in a dispatch table, so e.g. a {@code String} field goes straight
+ * to the resolvers that can resolve it. Nested chains support a class if any of their
+ * resolvers does, so they are skipped as a whole if possible.
+ *
+ * <p> For the parts of an object graph without any named values, the bean resolver uses
+ * a {@link #withoutNamedValues() variant} of the chain with all the named values
+ * removed, so that it does not look them up for every single field.
+ */
+class ResolverChain implements NonThrowingValueResolver {
+
+    private static final Candidates NO_CANDIDATES = new Candidates(new int[0]);
+
+    private final ImmutableList<NonThrowingValueResolver> resolvers;
+
+    /**
+     * Which of the resolvers are type-only, their rejections are recorded in the {@link
+     * RejectionCache}
+     */
+    private final boolean[] typeOnly;
+
+    /**
+     * Class -> resolvers to be tried, in order, created on first use. The
+     * chain is immutable, so the table can never become stale. Chains are created for
+     * every builder, so this is a plain map rather than a cache, but with weak keys, so
+     * that long-lived chains (e.g. the global one) do not keep the classes (nor their
+     * class loaders) alive.
+     */
+    @Nullable
+    private volatile ConcurrentMap<Class<?>, Candidates> dispatchTable;
+
+    @Nullable
+    private volatile ResolverChain withoutNamedValues;
+
+    public ResolverChain(ValueResolver... resolvers) {
+        this(ImmutableList.of(), resolvers);
+    }
+
+    private ResolverChain(List<NonThrowingValueResolver> oldResolvers, ValueResolver... newResolvers) {
+        Builder<NonThrowingValueResolver> builder = new Builder<NonThrowingValueResolver>()
+                .addAll(oldResolvers);
+        for (ValueResolver resolver : newResolvers) {
+            builder.add(ValueResolverAdapter.adapt(resolver));
+        }
+        this.resolvers = builder.build();
+        this.typeOnly = new boolean[resolvers.size()];
+        for (int i = 0; i < typeOnly.length; i++) {
+            typeOnly[i] = resolvers.get(i).isTypeOnly();
+        }
+    }
+
+    @Nullable
+    @Override
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        // Only the results carrying some details are remembered (the array is not even
+        // allocated if all the resolvers just returned Unresolved.INSTANCE), the failure
+        // is described from them only if someone asks
+        Unresolved[] results = null;
+        Candidates candidates = candidatesFor(type);
+        for (int position = 0; position < candidates.indexes.length; position++) {
+            int i = candidates.indexes[position];
+            if (candidates.rejecting[position] && RejectionCache.isRejected(resolvers.get(i), type, typeInfo)) {
+                continue;
+            }
+
+            Object result = resolvers.get(i).tryResolve(type, typeInfo, name, annotations);
+            if (!(result instanceof Unresolved)) {
+                return result;
+            }
+
+            if (result == Unresolved.INSTANCE) {
+                if (typeOnly[i]) {
+                    RejectionCache.reject(resolvers.get(i), type, typeInfo);
+                    candidates.rejecting[position] = true;
+                }
+            } else {
+                if (results == null) {
+                    results = new Unresolved[resolvers.size()];
+                }
+                results[i] = (Unresolved) result;
+            }
+            // Try next resolver
+        }
+
+        return Unresolved.because(new ChainFailure(type, name, results));
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return candidatesFor(type).indexes.length > 0;
+    }
+
+    private Candidates candidatesFor(Class<?> type) {
+        ConcurrentMap<Class<?>, Candidates> table = dispatchTable;
+        if (table == null) {
+            // A race can only create an equivalent table
+            table = new MapMaker().weakKeys().concurrencyLevel(1).makeMap();
+            dispatchTable = table;
+        }
+        Candidates candidates = table.get(type);
+        if (candidates == null) {
+            candidates = findCandidates(type);
+            table.put(type, candidates);
+        }
+        return candidates;
+    }
+
+    private Candidates findCandidates(Class<?> type) {
+        int[] indexes = new int[resolvers.size()];
+        int count = 0;
+        for (int i = 0; i < resolvers.size(); i++) {
+            if (resolvers.get(i).supports(type)) {
+                indexes[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return NO_CANDIDATES;
+        }
+
+        Candidates candidates = new Candidates(Arrays.copyOf(indexes, count));
+        for (int position = 0; position < count; position++) {
+            int i = candidates.indexes[position];
+            candidates.rejecting[position] = typeOnly[i] && RejectionCache.hasRejections(resolvers.get(i), type);
+        }
+        return candidates;
+    }
+
+    /**
+     * @return {@code true} if the only resolvers in this chain (including nested chains)
+     * that may resolve the type are the built-in resolvers, i.e. the type is always
+     * resolved to its built-in default value
+     */
+    public boolean resolvesOnlyBuiltIn(Class<?> type) {
+        int[] candidates = candidatesFor(type).indexes;
+        for (int i : candidates) {
+            NonThrowingValueResolver resolver = resolvers.get(i);
+            if (!(resolver instanceof BuiltInResolvers
+                    || resolver instanceof ResolverChain && ((ResolverChain) resolver).resolvesOnlyBuiltIn(type))) {
+                return false;
+            }
+            if (BuiltInResolvers.alwaysResolves(type)) {
+                // The rest of the candidates (e.g. the bean resolver for a String) are
+                // never asked
+                return true;
+            }
+        }
+        return candidates.length > 0;
+    }
+
+    /**
+     * @param prefix a path in the object graph, e.g. {@code Person.address}
+     * @return {@code true} if any named values in this chain (including nested chains)
+     * are registered under the path
+     */
+    public boolean hasNamedValuesUnder(String prefix) {
+        for (NonThrowingValueResolver resolver : resolvers) {
+            if (resolver instanceof NamedResolver && ((NamedResolver) resolver).hasValuesUnder(prefix)
+                    || resolver instanceof ResolverChain && ((ResolverChain) resolver).hasNamedValuesUnder(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the same chain without the named values (including nested chains), computed
+     * only once
+     */
+    public ResolverChain withoutNamedValues() {
+        ResolverChain result = withoutNamedValues;
+        if (result == null) {
+            List<NonThrowingValueResolver> remaining = new ArrayList<>(resolvers.size());
+            for (NonThrowingValueResolver resolver : resolvers) {
+                if (resolver instanceof ResolverChain) {
+                    remaining.add(((ResolverChain) resolver).withoutNamedValues());
+                } else if (!(resolver instanceof NamedResolver)) {
+                    remaining.add(resolver);
+                }
+            }
+            // A race can only create an equivalent chain
+            result = new ResolverChain(remaining);
+            withoutNamedValues = result;
+        }
+        return result;
+    }
+
+    public ResolverChain add(ValueResolver resolver) {
+        return new ResolverChain(resolvers, resolver);
+    }
+
+    /**
+     * The resolvers that support a class
+     */
+    private static final class Candidates {
+        /**
+         * Indexes of the resolvers, in order
+         */
+        final int[] indexes;
+
+        /**
+         * Which of them are type-only and have rejected the class before, only these are
+         * looked up in the {@link RejectionCache}, e.g. the built-in resolvers never reject
+         * a {@code String}, so it is not looked up at all. Set once a rejection is
+         * recorded, a thread that does not see it yet just asks the resolver again.
+         */
+        final boolean[] rejecting;
+
+        Candidates(int[] indexes) {
+            this.indexes = indexes;
+            this.rejecting = new boolean[indexes.length];
+        }
+    }
+
+    /**
+     * Failure of all the resolvers in the chain, described lazily from their results.
+     */
+    private final class ChainFailure extends ResolutionFailure {
+        private final Class<?> type;
+        private final String name;
+        @Nullable
+        private final Unresolved[] results;
+
+        ChainFailure(Class<?> type, String name, @Nullable Unresolved[] results) {
+            this.type = type;
+            this.name = name;
+            this.results = results;
+        }
+
+        @Override
+        public String getResolver() {
+            return ResolverChain.class.getSimpleName();
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getReason() {
+            return String.format("No suitable resolver found for type %s with name %s:", type.getName(), name);
+        }
+
+        @Override
+        public List<ResolutionFailure> getChildren() {
+            List<ResolutionFailure> children = new ArrayList<>(resolvers.size());
+            for (int i = 0; i < resolvers.size(); i++) {
+                NonThrowingValueResolver resolver = resolvers.get(i);
+                if (results != null && results[i] != null) {
+                    children.add(ResolutionFailure.of(ValueResolverAdapter.unwrap(resolver), type, name, results[i]));
+                } else if (resolver instanceof ResolverChain) {
+                    // Skipped or rejected without details, but still show what is inside
+                    children.add(((ResolverChain) resolver).new ChainFailure(type, name, null));
+                } else {
+                    children.add(ResolutionFailure.of(ValueResolverAdapter.unwrap(resolver), type, name, Unresolved.INSTANCE));
+                }
+            }
+            return children;
+        }
+    }
+
+}
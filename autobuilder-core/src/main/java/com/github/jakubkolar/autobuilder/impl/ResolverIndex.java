@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import org.pmw.tinylog.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+
+/**
+ * Loads the resolvers listed in the resolver indexes written by the {@code
+ * ResolverIndexProcessor} of the {@code autobuilder-processor} artifact.
+ *
+ * <p> The resolvers registered for the {@link java.util.ServiceLoader} are loaded too,
+ * e.g. from the jars compiled without the processor, or registered by hand. The index
+ * only adds the declared types to them.
+ *
+ * <p> Resolvers with declared types (see {@link com.github.jakubkolar.autobuilder.spi.ResolvedTypes})
+ * are wrapped by {@link DeclaredTypesResolver}, and skipped if none of the types can be
+ * loaded. They are not even loaded in such a case, so that e.g. a resolver of Guava types
+ * may refer to Guava in its constructor.
+ */
+final class ResolverIndex {
+
+    /**
+     * The same resource name as the one written by the processor
+     */
+    static final String INDEX_FILE = "META-INF/autobuilder/resolvers";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + ValueResolver.class.getName();
+
+    private ResolverIndex() {
+        // Utility class is not instantiable
+    }
+
+    public static List<ValueResolver> load(ClassLoader classLoader) {
+        // Resolver name -> names of its types, the order of discovery is kept
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+        for (URL index : getResources(classLoader, INDEX_FILE)) {
+            for (String line : readLines(index)) {
+                String[] names = line.split(" +");
+                entries.putIfAbsent(names[0], Arrays.asList(names).subList(1, names.length));
+            }
+        }
+        for (URL serviceFile : getResources(classLoader, SERVICE_FILE)) {
+            for (String line : readLines(serviceFile)) {
+                entries.putIfAbsent(line, null);
+            }
+        }
+
+        List<ValueResolver> result = new ArrayList<>(entries.size());
+        entries.forEach((name, typeNames) -> {
+            if (typeNames == null || typeNames.isEmpty()) {
+                result.add(newInstance(classLoader, name));
+                return;
+            }
+
+            List<Class<?>> types = new ArrayList<>(typeNames.size());
+            for (String typeName : typeNames) {
+                try {
+                    types.add(Class.forName(typeName, false, classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    Logger.debug("Type {} resolved by {} is not on the classpath", typeName, name);
+                }
+            }
+            if (types.isEmpty()) {
+                Logger.debug("Skipping {}, none of its types are on the classpath", name);
+            } else {
+                result.add(new DeclaredTypesResolver(newInstance(classLoader, name), types));
+            }
+        });
+        return result;
+    }
+
+    private static ValueResolver newInstance(ClassLoader classLoader, String name) {
+        try {
+            return Class.forName(name, false, classLoader)
+                    .asSubclass(ValueResolver.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            // The same error as if the ServiceLoader was used
+            throw new ServiceConfigurationError(ValueResolver.class.getName() + ": Provider " + name
+                    + " could not be instantiated", e);
+        }
+    }
+
+    private static List<URL> getResources(ClassLoader classLoader, String resourceName) {
+        try {
+            return Collections.list(classLoader.getResources(resourceName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + resourceName, e);
+        }
+    }
+
+    /**
+     * @return the non-empty lines of the resource, without {@code #} comments
+     */
+    private static List<String> readLines(URL resource) {
+        List<String> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                line = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (!line.isEmpty()) {
+                    result.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + resource, e);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.api.RegistryScope;
+import com.github.jakubkolar.autobuilder.api.ResolversRegistry;
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.pmw.tinylog.Logger;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * The global configuration is kept in an immutable {@link Snapshot} published through an
+ * {@link AtomicReference}: reading it is a single volatile read, and every registration
+ * (or a whole batch of them) replaces the snapshot in one step, so nobody can observe
+ * a half-applied change.
+ *
+ * <p> A thread can also enter a {@link RegistryScope}: registrations done through it are
+ * kept in an overlay snapshot that only this thread sees, layered on top of the current
+ * global snapshot. Closing the scope just restores the previous overlay of the thread.
+ */
+@Singleton
+class ResolversRegistryImpl implements ResolversRegistry, Initializable {
+
+    /**
+     * Initialization of a resolver taking at least this long is reported even without
+     * debug logging
+     */
+    private static final long SLOW_INIT_MILLIS = 1000;
+
+    /**
+     * Class loader -> the resolvers found on its classpath, created and initialized only
+     * once and shared by the registries of all the contexts created under the class loader.
+     * A failure is not remembered (the next context tries again). The values are weak too,
+     * since the resolvers refer to their class loader; the registries keep them instead.
+     */
+    private static final LoadingCache<ClassLoader, List<ValueResolver>> CLASSPATH_RESOLVERS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .weakValues()
+            .build(new CacheLoader<ClassLoader, List<ValueResolver>>() {
+                @Override
+                public List<ValueResolver> load(ClassLoader classLoader) {
+                    List<ValueResolver> resolvers = new ArrayList<>();
+                    Initialization.run(() -> {
+                        resolvers.addAll(ResolverIndex.load(classLoader));
+                        initAll(resolvers);
+                    });
+                    return Collections.unmodifiableList(resolvers);
+                }
+            });
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    /**
+     * Keeps the shared resolvers of the class loader in the cache as long as this registry
+     * exists
+     */
+    @Nullable
+    private volatile List<ValueResolver> classpathResolvers;
+
+    /**
+     * The innermost open scope of each thread
+     */
+    private final ThreadLocal<Scope> scopes = new ThreadLocal<>();
+
+    @Inject
+    public ResolversRegistryImpl(BuiltInResolvers builtInResolvers) {
+        this.snapshot = new AtomicReference<>(
+                new Snapshot(new NamedResolver(), new ResolverChain(), builtInResolvers));
+    }
+
+    @Override
+    public ResolversRegistry registerValue(String name, Object value, Annotation... requiredAnnotations) {
+        snapshot.updateAndGet(current -> current.withValue(name, value, requiredAnnotations));
+        return this;
+    }
+
+    @Override
+    public ResolversRegistry registerResolver(ValueResolver resolver) {
+        snapshot.updateAndGet(current -> current.withResolver(resolver));
+        return this;
+    }
+
+    @Override
+    public ResolversRegistry registerAtomically(Consumer<? super ResolversRegistry> registrations) {
+        Transaction transaction = new Transaction();
+        registrations.accept(transaction);
+        snapshot.updateAndGet(transaction::applyTo);
+        return this;
+    }
+
+    @Override
+    public RegistryScope enterScope() {
+        Scope scope = new Scope(scopes.get());
+        scopes.set(scope);
+        return scope;
+    }
+
+    @Override
+    public void init() {
+        // A resolver being initialized cannot wait for the boot of another context
+        Initialization.checkNotInProgress();
+        List<ValueResolver> resolvers;
+        try {
+            resolvers = CLASSPATH_RESOLVERS.getUnchecked(classLoader());
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        }
+        classpathResolvers = resolvers;
+        // Registered in the order of discovery, no matter which init finished first
+        registerAtomically(registry -> resolvers.forEach(registry::registerResolver));
+    }
+
+    private static ClassLoader classLoader() {
+        // The same class loader the ServiceLoader would use
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : ClassLoader.getSystemClassLoader();
+    }
+
+    /**
+     * Initializes the {@link Initializable} resolvers in parallel, since some of them may
+     * take long (e.g. loading data from files), and logs how long each of them took.
+     * Returns when all of them are initialized.
+     *
+     * <p> A resolver using {@code AutoBuilder} in its init fails with an {@link
+     * IllegalStateException}, see {@link Initialization}.
+     */
+    static void initAll(List<?> resolvers) {
+        List<Initializable> initializables = new ArrayList<>();
+        for (Object resolver : resolvers) {
+            if (resolver instanceof ValueResolver) {
+                resolver = ValueResolverAdapter.unwrap((ValueResolver) resolver);
+            }
+            if (resolver instanceof Initializable) {
+                initializables.add((Initializable) resolver);
+            }
+        }
+
+        if (initializables.size() <= 1) {
+            initializables.forEach(resolver -> Initialization.run(() -> timedInit(resolver)));
+            return;
+        }
+
+        int threads = Math.min(initializables.size(), Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "autobuilder-init");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<?>[] inits = initializables.stream()
+                    .map(resolver -> CompletableFuture.runAsync(() -> Initialization.run(() -> timedInit(resolver)), executor))
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture.allOf(inits).join();
+        } catch (CompletionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void timedInit(Initializable resolver) {
+        long start = System.nanoTime();
+        resolver.init();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (millis >= SLOW_INIT_MILLIS) {
+            Logger.info("Initialization of {} took {} ms", resolver.getClass().getName(), millis);
+        } else {
+            Logger.debug("Initialization of {} took {} ms", resolver.getClass().getName(), millis);
+        }
+    }
+
+    /**
+     * @return the global configuration as seen by the current thread, i.e. including the
+     * overlay of its innermost scope, if there is any
+     */
+    public Snapshot getSnapshot() {
+        Snapshot global = snapshot.get();
+        Scope scope = scopes.get();
+        return scope == null ? global : scope.getSnapshot(global);
+    }
+
+    /**
+     * Global values and resolvers at some point in time, together with the chain built from
+     * them. The chain is shared by all the builders created from the same snapshot, so what
+     * it learns about the types (see {@link ResolverChain}) is learnt only once.
+     */
+    @Immutable
+    static final class Snapshot {
+
+        private final NamedResolver globalValues;
+        private final ResolverChain globalResolvers;
+        /**
+         * The built-in resolvers, or the global chain below a scope overlay
+         */
+        private final NonThrowingValueResolver fallback;
+        private final ResolverChain globalChain;
+
+        Snapshot(NamedResolver globalValues, ResolverChain globalResolvers, NonThrowingValueResolver fallback) {
+            this.globalValues = globalValues;
+            this.globalResolvers = globalResolvers;
+            this.fallback = fallback;
+            this.globalChain = new ResolverChain(globalValues, globalResolvers, fallback);
+        }
+
+        Snapshot withValue(String name, Object value, Annotation... requiredAnnotations) {
+            return new Snapshot(globalValues.add(name, value, requiredAnnotations), globalResolvers, fallback);
+        }
+
+        Snapshot withResolver(ValueResolver resolver) {
+            return new Snapshot(globalValues, globalResolvers.add(resolver), fallback);
+        }
+
+        Snapshot withFallback(NonThrowingValueResolver fallback) {
+            return new Snapshot(globalValues, globalResolvers, fallback);
+        }
+
+        public NamedResolver getGlobalValues() {
+            return globalValues;
+        }
+
+        public ResolverChain getGlobalResolvers() {
+            return globalResolvers;
+        }
+
+        /**
+         * @return global values, then global resolvers, then the built-in resolvers (or the
+         * chain of the global snapshot in case of a scope overlay)
+         */
+        public ResolverChain getGlobalChain() {
+            return globalChain;
+        }
+    }
+
+    /**
+     * Registrations of one thread on top of the global configuration. Only the owner
+     * thread ever touches a scope, so there is no need for any synchronization here.
+     */
+    private final class Scope implements RegistryScope {
+
+        private final Thread owner = Thread.currentThread();
+        @Nullable
+        private final Scope outer;
+        private boolean closed;
+
+        /**
+         * The snapshot the overlay is currently layered on: the global one, or the overlay
+         * of the outer scope
+         */
+        private Snapshot base;
+        private Snapshot overlay;
+
+        Scope(@Nullable Scope outer) {
+            this.outer = outer;
+            this.base = below(snapshot.get());
+            this.overlay = new Snapshot(new NamedResolver(), new ResolverChain(), base.getGlobalChain());
+        }
+
+        Snapshot getSnapshot(Snapshot global) {
+            Snapshot below = below(global);
+            if (below != base) {
+                // Someone changed the configuration below, the overlay must see it too
+                base = below;
+                overlay = overlay.withFallback(below.getGlobalChain());
+            }
+            return overlay;
+        }
+
+        private Snapshot below(Snapshot global) {
+            return outer == null ? global : outer.getSnapshot(global);
+        }
+
+        @Override
+        public RegistryScope registerValue(String name, Object value, Annotation... requiredAnnotations) {
+            checkOpen();
+            overlay = getSnapshot(snapshot.get()).withValue(name, value, requiredAnnotations);
+            return this;
+        }
+
+        @Override
+        public RegistryScope registerResolver(ValueResolver resolver) {
+            checkOpen();
+            overlay = getSnapshot(snapshot.get()).withResolver(resolver);
+            return this;
+        }
+
+        @Override
+        public RegistryScope registerAtomically(Consumer<? super ResolversRegistry> registrations) {
+            checkOpen();
+            Transaction transaction = new Transaction();
+            registrations.accept(transaction);
+            overlay = transaction.applyTo(getSnapshot(snapshot.get()));
+            return this;
+        }
+
+        @Override
+        public RegistryScope enterScope() {
+            checkOpen();
+            return ResolversRegistryImpl.this.enterScope();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            checkOwner();
+            Preconditions.checkState(scopes.get() == this, "Nested scopes must be closed first");
+            closed = true;
+            if (outer == null) {
+                scopes.remove();
+            } else {
+                scopes.set(outer);
+            }
+        }
+
+        private void checkOpen() {
+            checkOwner();
+            Preconditions.checkState(!closed, "The scope has been closed");
+        }
+
+        private void checkOwner() {
+            Preconditions.checkState(Thread.currentThread() == owner,
+                    "The scope belongs to thread %s", owner.getName());
+        }
+    }
+
+    /**
+     * Collects registrations to be applied to a snapshot all at once. The registrations
+     * are only recorded, so that the snapshot can be updated by a side-effect free function
+     * that may be retried if another thread wins the race.
+     */
+    private static final class Transaction implements ResolversRegistry {
+
+        private final List<UnaryOperator<Snapshot>> changes = new ArrayList<>();
+
+        @Override
+        public ResolversRegistry registerValue(String name, Object value, Annotation... requiredAnnotations) {
+            changes.add(current -> current.withValue(name, value, requiredAnnotations));
+            return this;
+        }
+
+        @Override
+        public ResolversRegistry registerResolver(ValueResolver resolver) {
+            changes.add(current -> current.withResolver(resolver));
+            return this;
+        }
+
+        @Override
+        public ResolversRegistry registerAtomically(Consumer<? super ResolversRegistry> registrations) {
+            // Already in a transaction, just join it
+            registrations.accept(this);
+            return this;
+        }
+
+        @Override
+        public RegistryScope enterScope() {
+            throw new IllegalStateException("Cannot enter a scope in the middle of registerAtomically");
+        }
+
+        Snapshot applyTo(Snapshot snapshot) {
+            Snapshot result = snapshot;
+            for (UnaryOperator<Snapshot> change : changes) {
+                result = change.apply(result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Adapts a plain {@link ValueResolver} that throws {@code UnsupportedOperationException}
+ * to the {@link NonThrowingValueResolver} protocol.
+ */
+final class ValueResolverAdapter implements NonThrowingValueResolver {
+
+    private final ValueResolver delegate;
+
+    private ValueResolverAdapter(ValueResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    public static NonThrowingValueResolver adapt(ValueResolver resolver) {
+        return resolver instanceof NonThrowingValueResolver
+                ? (NonThrowingValueResolver) resolver
+                : new ValueResolverAdapter(resolver);
+    }
+
+    /**
+     * @return the original resolver, if adapted (or narrowed to its declared types),
+     * otherwise the resolver itself
+     */
+    public static ValueResolver unwrap(ValueResolver resolver) {
+        if (resolver instanceof DeclaredTypesResolver) {
+            return ((DeclaredTypesResolver) resolver).getOriginal();
+        }
+        return resolver instanceof ValueResolverAdapter ? ((ValueResolverAdapter) resolver).delegate : resolver;
+    }
+
+    @Nullable
+    @Override
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        try {
+            return delegate.resolve(type, typeInfo, name, annotations);
+        } catch (UnsupportedOperationException e) {
+            return Unresolved.because(e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        return delegate.resolve(type, typeInfo, name, annotations);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
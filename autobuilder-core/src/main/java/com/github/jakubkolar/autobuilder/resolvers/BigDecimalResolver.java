@@ -24,6 +24,9 @@
 
 package com.github.jakubkolar.autobuilder.resolvers;
 
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.ResolvedTypes;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
 import com.github.jakubkolar.autobuilder.spi.ValueResolver;
 import com.google.auto.service.AutoService;
 
@@ -44,16 +47,22 @@ import java.util.Optional;
  * @since 0.0.1
  */
 @AutoService(ValueResolver.class)
-public class BigDecimalResolver implements ValueResolver {
+@ResolvedTypes(BigDecimal.class)
+public class BigDecimalResolver implements NonThrowingValueResolver {
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return Objects.equals(type, BigDecimal.class);
+    }
 
     @Nullable
     @Override
-    public <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
         if (Objects.equals(type, BigDecimal.class)) {
             return type.cast(BigDecimal.ZERO);
         }
 
-        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot resolve type " + type.getSimpleName());
+        return Unresolved.INSTANCE;
     }
 
 }
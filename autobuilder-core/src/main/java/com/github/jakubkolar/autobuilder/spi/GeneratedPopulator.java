@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.spi;
+
+import com.google.common.annotations.Beta;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+
+/**
+ * Reflection-free instantiation and field access for a single type.
+ *
+ * <p> Implementations are generated at compile time for classes annotated with {@link
+ * com.github.jakubkolar.autobuilder.api.AutoBuildable}, and are discovered using the
+ * JDK's {@link java.util.ServiceLoader} framework. They are not meant to be written by
+ * hand.
+ *
+ * @param <T> the type this populator is generated for
+ * @author Jakub Kolar
+ * @since 0.3
+ */
+@Beta
+public interface GeneratedPopulator<T> {
+
+    /**
+     * @return the class object of the type this populator is generated for
+     */
+    Class<T> getType();
+
+    /**
+     * Creates a new instance of {@code T} without reflection.
+     *
+     * @return the new instance, or {@code null} if the type has no suitable constructor
+     * and has to be instantiated in some other way
+     */
+    @Nullable
+    T newInstance();
+
+    /**
+     * Returns a setter for the given field of {@code T} or any of its superclasses.
+     *
+     * <p> The setter accepts the instance as the first argument and the new value of the
+     * field as the second one.
+     *
+     * @param field the field to be written
+     * @return the setter, or {@code null} if the field is not accessible to the generated
+     * code and has to be written in some other way
+     */
+    @Nullable
+    BiConsumer<Object, Object> getSetter(Field field);
+
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.spi;
+
+import com.google.common.annotations.Beta;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * A {@link ValueResolver} that reports the types it cannot resolve by returning {@link
+ * Unresolved} instead of throwing an exception.
+ *
+ * <p> A single value is usually rejected by several resolvers before one of them can
+ * resolve it. With plain {@code ValueResolver}s, each of these rejections means creating
+ * an {@code UnsupportedOperationException}, including its message and stack trace. With
+ * this interface, a rejection can be as cheap as returning the shared {@link
+ * Unresolved#INSTANCE}. All the resolvers that come with the {@code AutoBuilder} library
+ * implement this interface, and it is the preferred way of implementing new resolvers.
+ *
+ * <p> Resolvers implementing this interface can be used anywhere a {@code ValueResolver}
+ * is expected, their {@link #resolve} method throws the {@code
+ * UnsupportedOperationException} as required by {@code ValueResolver}. Plain {@code
+ * ValueResolver}s keep working as well, they are adapted to this interface by the
+ * library.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ * @see ValueResolver
+ */
+@Beta
+public interface NonThrowingValueResolver extends ValueResolver {
+
+    /**
+     * Tries to resolve an instance of type {@code T}.
+     *
+     * <p> The parameters have the same meaning as in {@link ValueResolver#resolve}.
+     *
+     * @param <T>         the type of the result
+     * @param type        the class object for the requested type
+     * @param typeInfo    additional type information, if can be determined
+     * @param name        the name of the resolved object
+     * @param annotations additional metadata hints for the resolution
+     * @return the resolved instance of type {@code T}, including {@code null} as a valid
+     * return value, or an instance of {@link Unresolved} if the instance with the given
+     * metadata cannot be resolved by this resolver
+     */
+    @Nullable
+    <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations);
+
+    /**
+     * Tells whether this resolver may resolve instances of the given class.
+     *
+     * <p> This is an optional optimization hint: if {@code false} is returned, {@link
+     * #tryResolve} is not called for this {@code type} at all, regardless of the other
+     * resolution metadata. Therefore it must only return {@code false} if {@code
+     * tryResolve} would always return {@link Unresolved#INSTANCE} for the type, and the
+     * answer must not change over time, as it may be cached. The default implementation
+     * returns {@code true}, so the resolver is asked for every type.
+     *
+     * @param type the class object for the requested type
+     * @return {@code false} if this resolver certainly cannot resolve the type
+     */
+    default boolean supports(Class<?> type) {
+        return true;
+    }
+
+    /**
+     * Tells whether the resolver decides only based on the requested type.
+     *
+     * <p> Whether a type-only resolver resolves or rejects a request depends only on the
+     * {@code type} and {@code typeInfo}, not on the name or the annotations. The
+     * rejections of type-only resolvers are remembered for all the builders, so they are
+     * not asked again for the same type. This only pays off for resolvers that reject
+     * some of the classes they {@link #supports support}. The default implementation
+     * returns {@code false}.
+     *
+     * @return {@code true} if the result of {@link #tryResolve} depends only on the type
+     * and the type information
+     */
+    default boolean isTypeOnly() {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    default <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        Object result = tryResolve(type, typeInfo, name, annotations);
+        if (result instanceof Unresolved) {
+            Unresolved unresolved = (Unresolved) result;
+            if (unresolved.getFailure().isPresent()) {
+                throw new ResolutionException(unresolved.getFailure().get());
+            }
+            String message = unresolved.getReason().orElseGet(
+                    () -> getClass().getSimpleName() + " cannot resolve type " + type.getSimpleName());
+            throw new UnsupportedOperationException(message, unresolved.getCause().orElse(null));
+        }
+        // Values of primitive types are returned in their wrappers
+        return (T) result;
+    }
+
+}
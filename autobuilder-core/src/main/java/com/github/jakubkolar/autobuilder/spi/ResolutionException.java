@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.spi;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Thrown when an instance cannot be resolved, with the {@link ResolutionFailure details}
+ * of the failure.
+ *
+ * <p> It is an {@code UnsupportedOperationException}, as required by {@link
+ * ValueResolver#resolve}. The message is rendered from the failure only when it is
+ * requested.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ */
+@Beta
+public class ResolutionException extends UnsupportedOperationException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResolutionFailure failure;
+
+    public ResolutionException(ResolutionFailure failure) {
+        super(failure.getCause().orElse(null));
+        this.failure = failure;
+    }
+
+    public ResolutionFailure getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String getMessage() {
+        return failure.getMessage();
+    }
+}
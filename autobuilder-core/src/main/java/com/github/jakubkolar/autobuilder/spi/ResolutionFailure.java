@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.spi;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.SystemUtils;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Structured description of why an instance could not be resolved.
+ *
+ * <p> The failures form a tree: e.g. a failure of a resolver chain has a child failure
+ * for each of the resolvers in the chain, and a failure of a bean has a child failure for
+ * the field that could not be resolved. The tree is available for tooling using {@link
+ * ResolutionException#getFailure()}, and it is rendered as a text only when the
+ * {@link #getMessage() message} is requested.
+ *
+ * <p> The implementations are free to compute the details of the failure lazily, the
+ * resolution process does not query them unless the resolution fails as a whole.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ * @see Unresolved#because(ResolutionFailure)
+ */
+@Beta
+public abstract class ResolutionFailure {
+
+    /**
+     * @return the description of the resolver that failed, usually its simple class name
+     */
+    public abstract String getResolver();
+
+    /**
+     * @return the type that was to be resolved
+     */
+    public abstract Class<?> getType();
+
+    /**
+     * @return the name of the object that was to be resolved
+     */
+    public abstract String getName();
+
+    /**
+     * @return the reason of this failure, without the details of the child failures
+     */
+    public abstract String getReason();
+
+    public Optional<Throwable> getCause() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the failures that caused this failure, if any
+     */
+    public List<ResolutionFailure> getChildren() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return the reason of this failure followed by the messages of all the child
+     * failures, each on a separate line
+     */
+    public String getMessage() {
+        StringBuilder message = new StringBuilder();
+        render(message, 1);
+        return message.toString();
+    }
+
+    private void render(StringBuilder message, int depth) {
+        message.append(getReason());
+        for (ResolutionFailure child : getChildren()) {
+            message.append(SystemUtils.LINE_SEPARATOR);
+            for (int i = 0; i < depth; i++) {
+                message.append('\t');
+            }
+            message.append(child.getResolver()).append(": ");
+            child.render(message, depth + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getResolver() + ": " + getMessage();
+    }
+
+    /**
+     * Describes a single resolver that returned the given {@code result}.
+     *
+     * @param resolver the resolver that failed
+     * @param type     the type that was to be resolved
+     * @param name     the name of the object that was to be resolved
+     * @param result   the result of the resolver
+     * @return the failure carried by the result, if any, otherwise a new failure with the
+     * reason given by the result
+     */
+    public static ResolutionFailure of(ValueResolver resolver, Class<?> type, String name, Unresolved result) {
+        return result.getFailure().orElseGet(() -> new Rejected(resolver, type, name, result));
+    }
+
+    /**
+     * @param resolver the resolver that failed
+     * @param type     the type that was to be resolved
+     * @param name     the name of the object that was to be resolved
+     * @param reason   the reason of the failure
+     * @param cause    the exception that caused the failure, if any
+     * @param children the failures that caused this failure
+     * @return a new failure with the given details
+     */
+    public static ResolutionFailure of(ValueResolver resolver, Class<?> type, String name, String reason,
+                                       @Nullable Throwable cause, ResolutionFailure... children) {
+        return new Described(resolver, type, name, reason, cause, Arrays.asList(children));
+    }
+
+    private abstract static class Simple extends ResolutionFailure {
+        private final ValueResolver resolver;
+        private final Class<?> type;
+        private final String name;
+
+        Simple(ValueResolver resolver, Class<?> type, String name) {
+            this.resolver = resolver;
+            this.type = type;
+            this.name = name;
+        }
+
+        @Override
+        public String getResolver() {
+            return resolver.getClass().getSimpleName();
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final class Rejected extends Simple {
+        private final Unresolved result;
+
+        Rejected(ValueResolver resolver, Class<?> type, String name, Unresolved result) {
+            super(resolver, type, name);
+            this.result = result;
+        }
+
+        @Override
+        public String getReason() {
+            return result.getReason().orElseGet(() -> "cannot resolve type " + getType().getSimpleName());
+        }
+
+        @Override
+        public Optional<Throwable> getCause() {
+            return result.getCause();
+        }
+    }
+
+    private static final class Described extends Simple {
+        private final String reason;
+        @Nullable
+        private final Throwable cause;
+        private final List<ResolutionFailure> children;
+
+        Described(ValueResolver resolver, Class<?> type, String name, String reason,
+                  @Nullable Throwable cause, List<ResolutionFailure> children) {
+            super(resolver, type, name);
+            this.reason = reason;
+            this.cause = cause;
+            this.children = ImmutableList.copyOf(children);
+        }
+
+        @Override
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public Optional<Throwable> getCause() {
+            return Optional.ofNullable(cause);
+        }
+
+        @Override
+        public List<ResolutionFailure> getChildren() {
+            return children;
+        }
+    }
+}
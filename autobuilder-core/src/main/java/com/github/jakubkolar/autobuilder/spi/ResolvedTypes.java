@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.spi;
+
+import com.google.common.annotations.Beta;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the only types a {@link ValueResolver} loaded from the classpath can resolve:
+ * the listed types and their subtypes.
+ *
+ * <p> When a resolver registered with {@code @AutoService(ValueResolver.class)} is compiled
+ * with the {@code autobuilder-processor} jar on the annotation processor path (e.g. as a
+ * {@code provided} dependency), the resolver is added to a resolver index together with
+ * the types listed here. On startup, the resolvers are
+ * then loaded from the index instead of the {@link java.util.ServiceLoader}, they are
+ * never asked for other types (which especially helps the plain {@code ValueResolver}s
+ * that reject a type by throwing an exception), and they are skipped entirely if none of
+ * the types are on the classpath.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ * @see ValueResolver
+ */
+@Beta
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ResolvedTypes {
+
+    /**
+     * @return the types (including their subtypes) the resolver can resolve
+     */
+    Class<?>[] value();
+}
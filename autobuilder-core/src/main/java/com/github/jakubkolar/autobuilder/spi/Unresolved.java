@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.spi;
+
+import com.google.common.annotations.Beta;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * The result of a {@link NonThrowingValueResolver} that did not resolve the requested
+ * instance.
+ *
+ * <p> In the common case, when the resolver simply does not handle the requested type or
+ * name, the shared {@link #INSTANCE} should be returned, so that no objects are allocated
+ * for the rejection. A reason can be given in the rare cases when it is worth reporting
+ * to the user, e.g. when the resolver should have resolved the instance but failed.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ */
+@Beta
+public final class Unresolved {
+
+    /**
+     * Shared result for 'not handled by this resolver'.
+     */
+    public static final Unresolved INSTANCE = new Unresolved(null, null, null);
+
+    @Nullable
+    private final String reason;
+    @Nullable
+    private final Throwable cause;
+    @Nullable
+    private final ResolutionFailure failure;
+
+    private Unresolved(@Nullable String reason, @Nullable Throwable cause, @Nullable ResolutionFailure failure) {
+        this.reason = reason;
+        this.cause = cause;
+        this.failure = failure;
+    }
+
+    /**
+     * @param reason a description of why the instance could not be resolved
+     * @return a new result with the given reason
+     */
+    public static Unresolved because(String reason) {
+        return new Unresolved(reason, null, null);
+    }
+
+    /**
+     * @param cause the exception that prevented the resolution
+     * @return a new result with the given cause, its message is used as the reason
+     */
+    public static Unresolved because(Throwable cause) {
+        return cause instanceof ResolutionException
+                ? because(((ResolutionException) cause).getFailure())
+                : new Unresolved(null, cause, null);
+    }
+
+    /**
+     * @param failure the structured description of the failure, its message is used as
+     *                the reason, but only if requested
+     * @return a new result with the given failure
+     */
+    public static Unresolved because(ResolutionFailure failure) {
+        return new Unresolved(null, null, failure);
+    }
+
+    /**
+     * @param result a result of {@link NonThrowingValueResolver#tryResolve}
+     * @return {@code true} if the result means that the instance was not resolved
+     */
+    public static boolean isUnresolved(@Nullable Object result) {
+        return result instanceof Unresolved;
+    }
+
+    public Optional<String> getReason() {
+        if (reason != null) {
+            return Optional.of(reason);
+        }
+        if (failure != null) {
+            return Optional.of(failure.getMessage());
+        }
+        return cause != null ? Optional.ofNullable(cause.getMessage()) : Optional.empty();
+    }
+
+    public Optional<Throwable> getCause() {
+        return failure != null ? failure.getCause() : Optional.ofNullable(cause);
+    }
+
+    public Optional<ResolutionFailure> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    @Override
+    public String toString() {
+        return "Unresolved" + getReason().map(r -> "[" + r + ']').orElse("");
+    }
+}
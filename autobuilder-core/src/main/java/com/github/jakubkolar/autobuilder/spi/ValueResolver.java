@@ -67,7 +67,10 @@ import java.util.Optional;
  * AutoBuilder} library that is invoked when the type cannot be resolved by any other
  * registered resolver. It first tries to instantiate the target type, and then tries to
  * resolve each property of the resulting object recursively using the same resolution
- * process that was used to resolve the original type. It may happen that the target type
+ * process that was used to resolve the original type. Cycles in the object graph are
+ * resolved as references to the already created objects of the same type (e.g. a field
+ * {@code Employee manager} of an {@code Employee} references the employee itself, unless
+ * specified otherwise). It may happen that the target type
  * cannot be instantiated, and in this case the {@link
  * com.github.jakubkolar.autobuilder.api.BuilderDSL#build()} will fail with an
  * {@code UnsupportedOperationException}.
@@ -144,9 +147,19 @@ import java.util.Optional;
  * classes or third-party libraries to the classpath, without any additional configuration
  * in the existing code. <a href="https://github.com/google/auto/tree/master/service"
  * >AutoService</a> library can be used to simplify configuration of the
- * {@code ServiceLoader}.
+ * {@code ServiceLoader}. Resolvers registered by {@code @AutoService} are also added to a
+ * resolver index at compile time, which adds the types the resolver can resolve to its
+ * {@code ServiceLoader} configuration; see {@link ResolvedTypes} for how to declare
+ * them. The resolvers found on the classpath are created while {@code AutoBuilder}
+ * boots, so their constructors must not use {@code AutoBuilder} itself (that fails with
+ * an {@code IllegalStateException}).
+ *
+ * <p> Resolvers that often reject the requested types should rather implement {@link
+ * NonThrowingValueResolver}, which reports the rejection without the cost of an
+ * exception.
  *
  * @author Jakub Kolar
+ * @see NonThrowingValueResolver
  * @see com.github.jakubkolar.autobuilder.api.BuilderDSL#with(ValueResolver)
  * @see com.github.jakubkolar.autobuilder.api.BuilderDSL#with(String, Object)
  * @see com.github.jakubkolar.autobuilder.api.BuilderDSL#with(java.util.Map)
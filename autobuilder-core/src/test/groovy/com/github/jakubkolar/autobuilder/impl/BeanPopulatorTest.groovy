@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.specification.Address
+import spock.lang.Specification
+
+class BeanPopulatorTest extends Specification {
+
+    static class Primitives {
+        int i
+        long l
+        boolean b
+        char c
+        double d
+        String s
+    }
+
+    def "Primitive defaults populator writes the built-in defaults and ignores passed values"() {
+        given:
+        def metadata = BeanMetadata.of(Primitives)
+        def bean = new Primitives()
+        Object[] values = metadata.fields.collect { it.name == 's' ? 'value' : null }
+
+        when:
+        metadata.primitiveDefaultsPopulator.populate(bean, values)
+
+        then:
+        assert bean.i == Integer.MIN_VALUE
+        assert bean.l == Long.MIN_VALUE
+        assert bean.b == false
+        assert bean.c == Character.MIN_VALUE
+        assert bean.d == BuiltInResolvers.defaultValueOf(double)
+        assert bean.s == 'value'
+    }
+
+    def "Regular populator writes the passed values"() {
+        given:
+        def metadata = BeanMetadata.of(Primitives)
+        def bean = new Primitives()
+        def byName = [i: 1, l: 2L, b: true, c: 'x' as char, d: 3.0d, s: 'value']
+        Object[] values = metadata.fields.collect { byName[it.name] }
+
+        when:
+        metadata.populator.populate(bean, values)
+
+        then:
+        assert bean.i == 1
+        assert bean.l == 2L
+        assert bean.b
+        assert bean.c == 'x' as char
+        assert bean.d == 3.0d
+        assert bean.s == 'value'
+    }
+
+    def "Beans over the compilation limit are populated by the writer loop the same way"() {
+        given:
+        def fields = BeanMetadata.of(Primitives).fields
+        def byName = [i: 1, l: 2L, b: true, c: 'x' as char, d: 3.0d, s: 'value']
+        Object[] values = fields.collect { byName[it.name] }
+        def compiled = new Primitives()
+        def loop = new Primitives()
+
+        when:
+        BeanPopulator.of(fields, primitiveDefaults, Integer.MAX_VALUE).populate(compiled, values)
+        BeanPopulator.of(fields, primitiveDefaults, 0).populate(loop, values)
+
+        then:
+        assert [loop.i, loop.l, loop.b, loop.c, loop.d, loop.s] ==
+                [compiled.i, compiled.l, compiled.b, compiled.c, compiled.d, compiled.s]
+
+        where:
+        primitiveDefaults << [false, true]
+    }
+
+    def "Classes without primitive fields share the populator"() {
+        given:
+        def metadata = BeanMetadata.of(Address)
+
+        expect:
+        assert metadata.primitiveTypes.isEmpty()
+        assert metadata.primitiveDefaultsPopulator.is(metadata.populator)
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.AutoBuilder
+import com.github.jakubkolar.autobuilder.specification.Address
+import com.github.jakubkolar.autobuilder.spi.ResolutionException
+import org.objenesis.ObjenesisStd
+import spock.lang.Specification
+
+class BeanResolverTest extends Specification {
+
+    static class Outer {
+        Inner inner
+    }
+
+    static class Inner {
+        Runnable r
+    }
+
+    def "Failure of a nested field reports the whole path from the root"() {
+        when:
+        AutoBuilder.instanceOf(Outer).build()
+
+        then:
+        def e = thrown(ResolutionException)
+        def message = e.message
+        def outer = message.indexOf("type ${Outer} with name ")
+        def inner = message.indexOf("type ${Inner} with name Outer.inner ")
+        def field = message.indexOf("with name Outer.inner.r")
+        assert outer >= 0
+        assert inner > outer
+        assert field > inner
+    }
+
+    def "String fields get the same default values in every build"() {
+        given:
+        def chain = rootChain(new NamedResolver())
+        def withNamed = rootChain(new NamedResolver().add('Address.street', 'Main Street'))
+
+        when:
+        Address first = chain.tryResolve(Address, Optional.empty(), 'Address', [])
+        Address second = chain.tryResolve(Address, Optional.empty(), 'Address', [])
+        Address named = withNamed.tryResolve(Address, Optional.empty(), 'Address', [])
+
+        then:
+        assert first.street == 'any_Address.street'
+        assert second.street.is(first.street)
+        assert named.street == 'Main Street'
+    }
+
+    /**
+     * @return chain of the values, the built-in resolvers and a bean resolver using it
+     */
+    private static ResolverChain rootChain(NamedResolver values) {
+        def beanResolver = new BeanResolver(new InstantiatorCache(new ObjenesisStd(false)))
+        def chain = new ResolverChain(values, new ResolverChain(new BuiltInResolvers()), beanResolver)
+        beanResolver.fieldsResolver = chain
+        return chain
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.specification.NonEmptyEnum
+import com.github.jakubkolar.autobuilder.spi.Unresolved
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class BuiltInResolversTest extends Specification {
+
+    @Unroll
+    def "Classified #type.simpleName is resolved the same way as by the individual resolvers"() {
+        given:
+        def resolvers = new BuiltInResolvers()
+
+        when:
+        def classified = resolvers.tryResolve(type, Optional.empty(), 'x', [])
+        def expected = BuiltInResolvers.resolveGenericSensitive(type, Optional.empty(), 'x')
+
+        then:
+        assert classified?.getClass() == expected?.getClass()
+        assert classified.toString() == expected.toString()
+        assert resolvers.supports(type) == (expected != Unresolved.INSTANCE)
+
+        where:
+        type << [String, CharSequence, Serializable, StringBuilder, Appendable,
+                 int, Integer, Number, long, char, Boolean,
+                 List, Collection, Iterable, Set, SortedSet, Map, SortedMap,
+                 NonEmptyEnum, int[], String[],
+                 Thread, Optional]
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.specification.Address
+import spock.lang.Specification
+
+class FieldMetadataTest extends Specification {
+
+    def "Paths of a field are reused for the same parent path"() {
+        given:
+        def field = BeanMetadata.of(Address).fields.find { it.name == 'city' }
+
+        when:
+        def first = field.getPath('Person.address')
+        def second = field.getPath(new String('Person.address'))
+        def other = field.getPath('Company.address')
+
+        then:
+        assert first == 'Person.address.city'
+        assert second.is(first)
+        assert other == 'Company.address.city'
+        assert field.getPath('Company.address').is(other)
+    }
+
+    def "Default strings of a field are reused with its paths"() {
+        given:
+        def field = BeanMetadata.of(Address).fields.find { it.name == 'street' }
+
+        when:
+        def first = field.getDefaultString('Person.address')
+        def second = field.getDefaultString(new String('Person.address'))
+
+        then:
+        assert first == 'any_Person.address.street'
+        assert second.is(first)
+    }
+
+    def "Only a few paths are kept per field"() {
+        given:
+        def field = BeanMetadata.of(Address).fields.find { it.name == 'city' }
+
+        expect:
+        (1..100).each { assert field.getPath("P$it") == "P${it}.city" }
+        assert field.paths.findAll { it != null }.size() <= 4
+    }
+}
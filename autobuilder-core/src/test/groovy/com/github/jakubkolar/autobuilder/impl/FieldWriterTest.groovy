@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.AutoBuilder
+import com.github.jakubkolar.autobuilder.bug.PrimitiveFields
+import com.github.jakubkolar.autobuilder.specification.Address
+import com.github.jakubkolar.autobuilder.spi.ResolutionException
+import spock.lang.Specification
+
+class FieldWriterTest extends Specification {
+
+    def "Writing null to a primitive field fails with the field in the message"() {
+        given:
+        def writer = BeanMetadata.of(PrimitiveFields).fields.find { it.name == 'i' }.writer
+
+        when:
+        writer.write(new PrimitiveFields(), null)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        assert e.message == "Can not set int field ${PrimitiveFields.name}.i to null value"
+    }
+
+    def "Writing a value of a wrong type fails with the field and the type in the message"() {
+        given:
+        def writer = BeanMetadata.of(Address).fields.find { it.name == 'street' }.writer
+
+        when:
+        writer.write(new Address(), 42)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        assert e.message == "Can not set java.lang.String field ${Address.name}.street to java.lang.Integer"
+    }
+
+    def "Compiled populator reports the field that cannot be written"() {
+        given:
+        def metadata = BeanMetadata.of(PrimitiveFields)
+        Object[] values = metadata.fields.collect { it.name == 'i' ? null : 1 }
+
+        when:
+        metadata.populator.populate(new PrimitiveFields(), values)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        assert e.message == "Can not set int field ${PrimitiveFields.name}.i to null value"
+    }
+
+    def "Building a bean with null for a primitive field reports the field"() {
+        when:
+        AutoBuilder.a(PrimitiveFields).with('i', null).build()
+
+        then:
+        def e = thrown(ResolutionException)
+        assert e.message.contains("Can not set int field ${PrimitiveFields.name}.i to null value")
+    }
+}
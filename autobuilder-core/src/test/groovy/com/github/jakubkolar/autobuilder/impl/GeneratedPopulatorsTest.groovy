@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.specification.Address
+import com.github.jakubkolar.autobuilder.specification.AutoBuildableDTO
+import spock.lang.Specification
+
+class GeneratedPopulatorsTest extends Specification {
+
+    def "Populator is looked up in the class loader of the class"() {
+        given:
+        def thread = Thread.currentThread()
+        def original = thread.contextClassLoader
+
+        when: 'the context class loader does not see any populators'
+        thread.contextClassLoader = new URLClassLoader(new URL[0], (ClassLoader) null)
+        def populator
+        try {
+            populator = GeneratedPopulators.forType(AutoBuildableDTO)
+        } finally {
+            thread.contextClassLoader = original
+        }
+
+        then:
+        assert populator.type == AutoBuildableDTO
+    }
+
+    def "Classes without a generated populator have none"() {
+        expect:
+        assert GeneratedPopulators.forType(Address) == null
+        assert GeneratedPopulators.forType(String) == null
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.specification.Address
+import com.github.jakubkolar.autobuilder.specification.Person
+import org.objenesis.ObjenesisStd
+import spock.lang.Specification
+
+class InstantiatorCacheTest extends Specification {
+
+    def "Instantiator is looked up only once per class"() {
+        given:
+        def cache = new InstantiatorCache(new ObjenesisStd(false))
+
+        when:
+        def instances = (1..3).collect { cache.newInstance(Person) } + cache.newInstance(Address)
+
+        then:
+        assert instances*.class == [Person, Person, Person, Address]
+        assert cache.misses == 2
+        assert cache.hits == 2
+    }
+
+    def "Each call creates a new instance"() {
+        given:
+        def cache = new InstantiatorCache(new ObjenesisStd(false))
+
+        expect:
+        assert !cache.newInstance(Person).is(cache.newInstance(Person))
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import spock.lang.Specification
+
+class PersistentHashMapTest extends Specification {
+
+    def "Behaves like a map"() {
+        given:
+        def expected = [:]
+        def map = PersistentHashMap.empty()
+
+        when:
+        new Random(42).with { random ->
+            2000.times {
+                def key = random.nextInt(1000)
+                expected[key] = it
+                map = map.with(key, it)
+            }
+        }
+
+        then:
+        assert map.size() == expected.size()
+        expected.each { k, v -> assert map.get(k) == v }
+        assert map.get(1000) == null
+        def entries = [:]
+        map.forEach { k, v -> entries[k] = v }
+        assert entries == expected
+    }
+
+    def "Original map is not modified"() {
+        given:
+        def original = PersistentHashMap.empty().with('a', 1)
+
+        when:
+        def derived = original.with('a', 2).with('b', 3)
+
+        then:
+        assert original.size() == 1
+        assert original.get('a') == 1
+        assert original.get('b') == null
+        assert derived.size() == 2
+        assert derived.get('a') == 2
+    }
+
+    def "Keys with the same hash code are kept apart"() {
+        given:
+        // "Aa" and "BB" have the same hash code
+        def map = PersistentHashMap.empty().with('Aa', 1).with('BB', 2).with('C', 3)
+
+        expect:
+        assert map.size() == 3
+        assert [map.get('Aa'), map.get('BB'), map.get('C')] == [1, 2, 3]
+        assert map.with('BB', 2).is(map)
+        assert map.with('BB', 4).get('BB') == 4
+        assert map.with('BB', 4).size() == 3
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver
+import com.github.jakubkolar.autobuilder.spi.Unresolved
+import spock.lang.Specification
+
+class RejectionCacheTest extends Specification {
+
+    def "Type-only resolvers are not asked again for the types they rejected"() {
+        given:
+        NonThrowingValueResolver typeOnly = Mock() {
+            supports(_) >> true
+            isTypeOnly() >> true
+        }
+        def avoided = RejectionCache.avoidedCalls
+
+        when: 'used by several chains (builders)'
+        (1..3).each {
+            assert new ResolverChain(typeOnly, new BuiltInResolvers()).tryResolve(String, Optional.empty(), 'x', []) == 'any_x'
+        }
+
+        then:
+        1 * typeOnly.tryResolve(*_) >> Unresolved.INSTANCE
+        assert RejectionCache.avoidedCalls - avoided >= 2
+    }
+
+    def "Rejections are remembered per type information"() {
+        given:
+        NonThrowingValueResolver typeOnly = Mock()
+
+        when:
+        RejectionCache.reject(typeOnly, Object, Optional.empty())
+
+        then:
+        assert RejectionCache.isRejected(typeOnly, Object, Optional.empty())
+        assert !RejectionCache.isRejected(typeOnly, Object, Optional.of(Object))
+        assert !RejectionCache.isRejected(typeOnly, String, Optional.empty())
+        assert RejectionCache.hasRejections(typeOnly, Object)
+        assert !RejectionCache.hasRejections(typeOnly, String)
+    }
+
+    def "Rejections are remembered per resolver"() {
+        given:
+        NonThrowingValueResolver typeOnly = Mock()
+        NonThrowingValueResolver other = Mock()
+
+        when:
+        RejectionCache.reject(typeOnly, Object, Optional.empty())
+
+        then:
+        assert RejectionCache.isRejected(typeOnly, Object, Optional.empty())
+        assert !RejectionCache.isRejected(other, Object, Optional.empty())
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver
+import com.github.jakubkolar.autobuilder.spi.ResolutionException
+import com.github.jakubkolar.autobuilder.spi.Unresolved
+import com.github.jakubkolar.autobuilder.spi.ValueResolver
+import spock.lang.Specification
+
+class ResolverChainTest extends Specification {
+
+    def "Throwing resolvers are adapted to the non-throwing protocol"() {
+        given:
+        ValueResolver throwing = Mock() {
+            resolve(_, _, _, _) >> { throw new UnsupportedOperationException("not mine") }
+        }
+        def chain = new ResolverChain(throwing, new ExactTypeConstantResolver<>(Integer, 42))
+
+        expect:
+        assert chain.tryResolve(Integer, Optional.empty(), 'x', []) == 42
+        assert chain.resolve(Integer, Optional.empty(), 'x', []) == 42
+    }
+
+    def "Rejection is reported as Unresolved with the reasons of all resolvers"() {
+        given:
+        ValueResolver throwing = Mock() {
+            resolve(_, _, _, _) >> { throw new UnsupportedOperationException("not mine") }
+        }
+        def chain = new ResolverChain(throwing, new ExactTypeConstantResolver<>(Integer, 42))
+
+        when:
+        def result = chain.tryResolve(String, Optional.empty(), 'x', [])
+
+        then:
+        assert result instanceof Unresolved
+        assert result.reason.get().contains('not mine')
+        assert result.reason.get().contains('ExactTypeConstantResolver: cannot resolve type String')
+    }
+
+    def "Rejection is reported as an exception by resolve"() {
+        given:
+        def chain = new ResolverChain(new ExactTypeConstantResolver<>(Integer, 42))
+
+        when:
+        chain.resolve(String, Optional.empty(), 'x', [])
+
+        then:
+        def e = thrown(UnsupportedOperationException)
+        assert e.message.startsWith('No suitable resolver found')
+    }
+
+    def "Failure is reported as a tree of the rejecting resolvers"() {
+        given:
+        def inner = new ResolverChain(new NamedResolver())
+        def chain = new ResolverChain(inner, new ExactTypeConstantResolver<>(Integer, 42))
+
+        when:
+        chain.resolve(String, Optional.empty(), 'x', [])
+
+        then:
+        def e = thrown(ResolutionException)
+        def failure = e.failure
+        assert failure.resolver == 'ResolverChain'
+        assert failure.type == String
+        assert failure.name == 'x'
+        assert failure.children*.resolver == ['ResolverChain', 'ExactTypeConstantResolver']
+        assert failure.children[0].children*.resolver == ['NamedResolver']
+        assert failure.children[0].children[0].reason == 'cannot resolve type String'
+    }
+
+    def "Only the resolvers supporting the type are tried"() {
+        given:
+        NonThrowingValueResolver integers = Mock() {
+            supports(_) >> { Class type -> type == Integer }
+        }
+        def chain = new ResolverChain(new ResolverChain(integers), new BuiltInResolvers())
+
+        when:
+        def result = chain.tryResolve(String, Optional.empty(), 'x', [])
+
+        then:
+        0 * integers.tryResolve(*_)
+        assert result == 'any_x'
+        assert !chain.supports(Thread)
+    }
+
+    def "Named values can be removed for paths without any"() {
+        given:
+        def named = new NamedResolver().add('Person.address.city', 'Prague')
+        def chain = new ResolverChain(new ResolverChain(named), new BuiltInResolvers())
+
+        expect:
+        assert chain.hasNamedValuesUnder('Person')
+        assert chain.hasNamedValuesUnder('Person.address')
+        assert !chain.hasNamedValuesUnder('Person.address.city')
+        assert !chain.hasNamedValuesUnder('Person.name')
+        assert chain.tryResolve(String, Optional.empty(), 'Person.address.city', []) == 'Prague'
+        assert chain.withoutNamedValues().tryResolve(String, Optional.empty(), 'Person.address.city', []) == 'any_Person.address.city'
+        assert chain.withoutNamedValues().is(chain.withoutNamedValues())
+    }
+
+    def "Shared instance is returned when nothing to report"() {
+        expect:
+        assert new ExactTypeConstantResolver<>(Integer, 42).tryResolve(String, Optional.empty(), 'x', []).is(Unresolved.INSTANCE)
+        assert new NamedResolver().tryResolve(String, Optional.empty(), 'x', []).is(Unresolved.INSTANCE)
+        assert new BuiltInResolvers().tryResolve(Thread, Optional.empty(), 'x', []).is(Unresolved.INSTANCE)
+    }
+}
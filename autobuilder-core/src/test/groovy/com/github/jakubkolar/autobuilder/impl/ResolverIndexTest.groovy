@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.resolvers.BigDecimalResolver
+import com.github.jakubkolar.autobuilder.spi.ResolvedTypes
+import com.github.jakubkolar.autobuilder.spi.ValueResolver
+import com.github.jakubkolar.autobuilder.specification.ExtensionTestResolver
+import com.github.jakubkolar.autobuilder.specification.IndexedTestResolver
+import spock.lang.Specification
+
+import java.lang.annotation.Annotation
+import java.lang.reflect.Type
+
+class ResolverIndexTest extends Specification {
+
+    def "Bundled index matches the declared types of the resolvers"() {
+        given:
+        def lines = getClass().classLoader.getResources(ResolverIndex.INDEX_FILE).toList()
+                .collectMany { it.readLines() }
+                .findAll { !it.startsWith('#') && !it.trim().isEmpty() }
+                .collectEntries { def names = it.split(' '); [(names[0]): names.drop(1).toList()] }
+
+        expect:
+        [BigDecimalResolver, IndexedTestResolver].each { resolver ->
+            assert lines[resolver.name] == resolver.getAnnotation(ResolvedTypes).value()*.name
+        }
+    }
+
+    def "Indexed resolvers are narrowed to their types"() {
+        when:
+        def resolvers = ResolverIndex.load(getClass().classLoader)
+
+        then:
+        def byType = resolvers.collectEntries { [(ValueResolverAdapter.unwrap(it).class): it] }
+        assert byType.keySet().containsAll([BigDecimalResolver, IndexedTestResolver, ExtensionTestResolver])
+        assert resolvers.size() == byType.size()
+
+        assert byType[IndexedTestResolver] instanceof DeclaredTypesResolver
+        assert byType[IndexedTestResolver].supports(Currency)
+        assert !byType[IndexedTestResolver].supports(String)
+        assert !(byType[ExtensionTestResolver] instanceof DeclaredTypesResolver)
+    }
+
+    def "Resolver is skipped if none of its types can be loaded"() {
+        given:
+        def classLoader = new WithoutExampleTypes(root((ResolverIndex.INDEX_FILE): [
+                "${BigDecimalResolver.name} com.example.Missing",
+                "${IndexedTestResolver.name} com.example.Missing ${Currency.name}"]))
+
+        when:
+        def resolvers = ResolverIndex.load(classLoader)
+
+        then:
+        assert resolvers.size() == 1
+        assert resolvers[0].types == [Currency]
+        assert ValueResolverAdapter.unwrap(resolvers[0]) instanceof IndexedTestResolver
+    }
+
+    def "Resolver without any loadable types is not even created"() {
+        given:
+        def classLoader = new WithoutExampleTypes(root((ResolverIndex.INDEX_FILE): [
+                "${MissingTypeResolver.name} com.example.Missing"]))
+
+        when:
+        def resolvers = ResolverIndex.load(classLoader)
+
+        then:
+        assert resolvers.isEmpty()
+    }
+
+    def "Service files are merged with the index"() {
+        given:
+        def classLoader = new WithoutExampleTypes(
+                root((ResolverIndex.INDEX_FILE): ["${IndexedTestResolver.name} ${Currency.name}"],
+                        (SERVICE_FILE): [IndexedTestResolver.name, BigDecimalResolver.name]),
+                root((SERVICE_FILE): [ExtensionTestResolver.name]))
+
+        when:
+        def resolvers = ResolverIndex.load(classLoader)
+
+        then:
+        assert resolvers.collect { ValueResolverAdapter.unwrap(it).class } == [IndexedTestResolver, BigDecimalResolver, ExtensionTestResolver]
+        assert resolvers[0] instanceof DeclaredTypesResolver
+        assert !(resolvers[1] instanceof DeclaredTypesResolver)
+    }
+
+    def "Resolver declaring a wrapper type resolves the primitive fields too"() {
+        given:
+        ValueResolver integers = Mock() {
+            resolve(*_) >> 42
+        }
+        def chain = new ResolverChain(new DeclaredTypesResolver(integers, [Integer]))
+
+        expect:
+        assert chain.tryResolve(int, Optional.empty(), 'Counter.count', []) == 42
+        assert chain.tryResolve(Integer, Optional.empty(), 'Counter.boxed', []) == 42
+        assert !chain.supports(long)
+    }
+
+    private static final String SERVICE_FILE = "META-INF/services/${ValueResolver.name}"
+
+    /**
+     * @return a directory with the files of the given names and lines
+     */
+    private static URL root(Map<String, List<String>> files) {
+        def root = File.createTempDir()
+        root.deleteOnExit()
+        files.each { name, lines ->
+            def file = new File(root, name)
+            file.parentFile.mkdirs()
+            file.text = lines.join('\n')
+        }
+        return root.toURI().toURL()
+    }
+
+    /**
+     * Cannot be created, like a resolver whose constructor refers to a missing class
+     */
+    static class MissingTypeResolver implements ValueResolver {
+
+        MissingTypeResolver() {
+            throw new NoClassDefFoundError('com/example/Missing')
+        }
+
+        @Override
+        def <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+            throw new UnsupportedOperationException()
+        }
+    }
+
+    /**
+     * Sees only the given roots, and classes of the test class path except com.example
+     */
+    static class WithoutExampleTypes extends URLClassLoader {
+
+        WithoutExampleTypes(URL... roots) {
+            super(roots, (ClassLoader) null)
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            if (name.startsWith('com.example')) {
+                throw new ClassNotFoundException(name)
+            }
+            return ResolverIndexTest.classLoader.loadClass(name)
+        }
+    }
+}
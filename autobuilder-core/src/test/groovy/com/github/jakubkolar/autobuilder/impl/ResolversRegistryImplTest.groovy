@@ -0,0 +1,256 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl
+
+import com.github.jakubkolar.autobuilder.AutoBuilder
+import com.github.jakubkolar.autobuilder.AutoBuilderContext
+import com.github.jakubkolar.autobuilder.specification.IndexedTestResolver
+import com.github.jakubkolar.autobuilder.spi.Unresolved
+import com.github.jakubkolar.autobuilder.spi.ValueResolver
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ResolversRegistryImplTest extends Specification {
+
+    def registry = new ResolversRegistryImpl(new BuiltInResolvers())
+
+    def "Each registration publishes a new snapshot"() {
+        given:
+        def before = registry.snapshot
+
+        when:
+        registry.registerValue('Person.name', 'John')
+
+        then:
+        assert !registry.snapshot.is(before)
+        assert before.globalValues.tryResolve(String, Optional.empty(), 'Person.name', []) instanceof Unresolved
+        assert registry.snapshot.globalChain.tryResolve(String, Optional.empty(), 'Person.name', []) == 'John'
+    }
+
+    def "Atomic registrations are published as one snapshot"() {
+        given:
+        def before = registry.snapshot
+        def published = []
+
+        when:
+        registry.registerAtomically { r ->
+            r.registerValue('Person.name', 'John')
+            published << registry.snapshot
+            r.registerResolver({ type, typeInfo, name, annotations -> 42 } as ValueResolver)
+            published << registry.snapshot
+        }
+
+        then: 'nothing is visible until the transaction completes'
+        assert published.every { it.is(before) }
+
+        and: 'then everything is'
+        def chain = registry.snapshot.globalChain
+        assert chain.tryResolve(String, Optional.empty(), 'Person.name', []) == 'John'
+        assert chain.tryResolve(Integer, Optional.empty(), 'Person.age', []) == 42
+    }
+
+    def "The global chain is shared until the next registration"() {
+        expect:
+        assert registry.snapshot.globalChain.is(registry.snapshot.globalChain)
+    }
+
+    def "Scope registrations are visible only in the scope"() {
+        given:
+        registry.registerValue('Person.name', 'Global')
+
+        when:
+        def inScope
+        def scope = registry.enterScope()
+        try {
+            scope.registerValue('Person.name', 'Scoped')
+            inScope = resolveName()
+        } finally {
+            scope.close()
+        }
+
+        then:
+        assert inScope == 'Scoped'
+        assert resolveName() == 'Global'
+    }
+
+    def "Scope is not visible to other threads"() {
+        given:
+        def scope = registry.enterScope().registerValue('Person.name', 'Scoped')
+
+        when:
+        def fromOtherThread
+        def thread = Thread.start { fromOtherThread = resolveName() }
+        thread.join()
+
+        then:
+        assert resolveName() == 'Scoped'
+        assert fromOtherThread == 'any_Person.name'
+
+        cleanup:
+        scope.close()
+    }
+
+    def "Scope sees later changes of the global configuration"() {
+        given:
+        def scope = registry.enterScope().registerValue('Person.age', 30)
+
+        when:
+        registry.registerValue('Person.name', 'Global')
+
+        then:
+        assert resolveName() == 'Global'
+        assert registry.snapshot.globalChain.tryResolve(Integer, Optional.empty(), 'Person.age', []) == 30
+
+        cleanup:
+        scope.close()
+    }
+
+    def "Nested scopes are restored in the reverse order"() {
+        given:
+        def outer = registry.enterScope().registerValue('Person.name', 'Outer')
+        def outerSnapshot = registry.snapshot
+
+        when:
+        def inner = registry.enterScope().registerValue('Person.name', 'Inner')
+
+        then:
+        assert resolveName() == 'Inner'
+
+        when:
+        outer.close()
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        inner.close()
+
+        then:
+        assert registry.snapshot.is(outerSnapshot)
+        assert resolveName() == 'Outer'
+
+        when:
+        outer.close()
+        outer.close()
+
+        then:
+        assert resolveName() == 'any_Person.name'
+    }
+
+    def "Scope cannot be used after it is closed"() {
+        given:
+        def scope = registry.enterScope()
+        scope.close()
+
+        when:
+        scope.registerValue('Person.name', 'Scoped')
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "Resolvers are initialized in parallel"() {
+        given:
+        def latch = new CountDownLatch(2)
+        def awaiting = {
+            latch.countDown()
+            assert latch.await(10, TimeUnit.SECONDS)
+        } as Initializable
+
+        when:
+        ResolversRegistryImpl.initAll([awaiting, 'not initializable', awaiting])
+
+        then:
+        assert latch.count == 0
+    }
+
+    def "Initialization failure is propagated"() {
+        when:
+        ResolversRegistryImpl.initAll([
+                { } as Initializable,
+                { throw new IllegalStateException('Cannot load') } as Initializable])
+
+        then:
+        def e = thrown(IllegalStateException)
+        assert e.message == 'Cannot load'
+    }
+
+    def "Resolver using AutoBuilder in its init fails instead of waiting for the boot"() {
+        given:
+        def usingAutoBuilder = { AutoBuilder.a(String).build() } as Initializable
+        def creatingContext = { AutoBuilderContext.create() } as Initializable
+
+        when:
+        ResolversRegistryImpl.initAll([usingAutoBuilder] * count)
+
+        then:
+        def e = thrown(IllegalStateException)
+        assert e.message.contains('init()')
+
+        when:
+        ResolversRegistryImpl.initAll([creatingContext] * count)
+
+        then:
+        thrown(IllegalStateException)
+
+        where:
+        count << [1, 2]
+    }
+
+    def "AutoBuilder can be used again after the initialization"() {
+        when:
+        ResolversRegistryImpl.initAll([{ } as Initializable])
+
+        then:
+        assert AutoBuilder.a(String).build() != null
+    }
+
+    def "Resolvers found on the classpath are created once per context class loader"() {
+        given:
+        def thread = Thread.currentThread()
+        def original = thread.contextClassLoader
+        def other = new URLClassLoader(new URL[0], getClass().classLoader)
+        new ResolversRegistryImpl(new BuiltInResolvers()).init()
+        def created = IndexedTestResolver.instances.get()
+
+        when:
+        thread.contextClassLoader = other
+        try {
+            registry.init()
+            new ResolversRegistryImpl(new BuiltInResolvers()).init()
+        } finally {
+            thread.contextClassLoader = original
+        }
+
+        then:
+        assert IndexedTestResolver.instances.get() == created + 1
+    }
+
+    private Object resolveName() {
+        registry.snapshot.globalChain.tryResolve(String, Optional.empty(), 'Person.name', [])
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.specification
+
+import com.github.jakubkolar.autobuilder.AutoBuilder
+import com.github.jakubkolar.autobuilder.spi.GeneratedPopulator
+import spock.lang.Specification
+
+class AutoBuildableIT extends Specification {
+
+    def "A populator is generated and registered for an @AutoBuildable class"() {
+        when:
+        def populators = ServiceLoader.load(GeneratedPopulator).collect()
+
+        then:
+        assert populators*.type.contains(AutoBuildableDTO)
+    }
+
+    def "Only fields accessible from the package are written by the generated code"() {
+        given:
+        def populator = ServiceLoader.load(GeneratedPopulator).find { it.type == AutoBuildableDTO }
+
+        expect:
+        assert populator.getSetter(AutoBuildableDTO.getDeclaredField("name")) != null
+        assert populator.getSetter(AutoBuildableDTO.getDeclaredField("count")) != null
+        assert populator.getSetter(AutoBuildableDTO.getDeclaredField("notAccessible")) == null
+    }
+
+    def "An @AutoBuildable class is built using its constructor and the generated populator"() {
+        given:
+        def calls = AutoBuildableDTO.constructorCalls
+
+        when:
+        def instance = AutoBuilder.instanceOf(AutoBuildableDTO)
+                .with("name", "Generated")
+                .with("count", 42)
+                .build()
+
+        then:
+        assert AutoBuildableDTO.constructorCalls == calls + 1
+        assert instance.name == "Generated"
+        assert instance.count == 42
+        assert instance.items == []
+        assert instance.address != null
+        assert instance.notAccessible != null
+    }
+}
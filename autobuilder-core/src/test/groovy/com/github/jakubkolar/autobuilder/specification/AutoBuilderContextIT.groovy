@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.specification
+
+import com.github.jakubkolar.autobuilder.AutoBuilder
+import com.github.jakubkolar.autobuilder.AutoBuilderContext
+import spock.lang.Specification
+
+class AutoBuilderContextIT extends Specification {
+
+    def "Global configuration of a context is not seen by other contexts"() {
+        given:
+        def first = AutoBuilderContext.create()
+        def second = AutoBuilderContext.create()
+
+        when:
+        first.registerValue("ImmutabilityExampleDTO.field", "First Context")
+        second.registerValue("ImmutabilityExampleDTO.field", "Second Context")
+
+        then:
+        assert first.instanceOf(ImmutabilityExampleDTO).build().field == "First Context"
+        assert second.instanceOf(ImmutabilityExampleDTO).build().field == "Second Context"
+        assert AutoBuilderContext.create().instanceOf(ImmutabilityExampleDTO).build().field == "any_ImmutabilityExampleDTO.field"
+        assert AutoBuilder.instanceOf(ImmutabilityExampleDTO).build().field == "any_ImmutabilityExampleDTO.field"
+    }
+
+    def "Resolvers found on the classpath are created only once for all the contexts of a class loader"() {
+        given: 'a context keeping the shared resolvers alive'
+        def first = AutoBuilderContext.create()
+        def created = IndexedTestResolver.instances.get()
+
+        when:
+        def contexts = (1..3).collect { AutoBuilderContext.create() }
+
+        then:
+        assert IndexedTestResolver.instances.get() == created
+        ([first] + contexts).each {
+            assert it.instanceOf(ExtensionExampleDTO).build().indexedTestResolverField == Currency.getInstance('EUR')
+        }
+    }
+
+    def "Resolvers registered in a context are used by its builders"() {
+        given:
+        def context = AutoBuilderContext.create()
+                .registerResolver { type, typeInfo, name, annotations ->
+                    if (name == "ImmutabilityExampleDTO.globalOverride") {
+                        return "Context Resolver"
+                    }
+                    throw new UnsupportedOperationException("Cannot resolve")
+                }
+
+        expect:
+        assert context.a(ImmutabilityExampleDTO).build().globalOverride == "Context Resolver"
+    }
+}
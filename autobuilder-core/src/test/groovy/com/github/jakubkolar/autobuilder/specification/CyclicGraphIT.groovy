@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.specification
+
+import com.github.jakubkolar.autobuilder.AutoBuilder
+import com.github.jakubkolar.autobuilder.spi.ValueResolver
+import spock.lang.Specification
+
+class CyclicGraphIT extends Specification {
+
+    def "A self-referencing field references the instance itself"() {
+        when:
+        def employee = AutoBuilder.instanceOf(Employee).build()
+
+        then:
+        assert employee.manager.is(employee)
+    }
+
+    def "Mutually referencing beans reference each other"() {
+        when:
+        def employee = AutoBuilder.instanceOf(Employee).build()
+
+        then:
+        assert employee.department.head.is(employee)
+        assert employee.department.address.street == "any_Employee.department.address.street"
+    }
+
+    def "A cycle can be avoided by specifying the property"() {
+        given:
+        def boss = new Employee(name: "Boss")
+
+        when:
+        def employee = AutoBuilder.instanceOf(Employee)
+                .with("manager", boss)
+                .with("department.head", boss)
+                .build()
+
+        then:
+        assert employee.manager.is(boss)
+        assert employee.department.head.is(boss)
+    }
+
+    def "A named value under a back-reference gets a bean of its own"() {
+        when:
+        def employee = AutoBuilder.instanceOf(Employee)
+                .with("manager.name", "Boss")
+                .build()
+
+        then:
+        assert !employee.manager.is(employee)
+        assert employee.manager.name == "Boss"
+        assert employee.manager.manager.is(employee.manager)
+        assert employee.department.head.is(employee)
+        assert employee.manager.department.head.is(employee.manager)
+    }
+
+    def "A resolver using the same builder gets a completely built graph"() {
+        given:
+        def builder
+        def building = false
+        Employee nested = null
+        String nestedName = null
+        builder = AutoBuilder.instanceOf(Employee).with({ type, typeInfo, name, annotations ->
+            if (type == Department && !building) {
+                building = true
+                nested = builder.build()
+                nestedName = nested.name
+            }
+            throw new UnsupportedOperationException("Cannot resolve")
+        } as ValueResolver)
+
+        when:
+        def employee = builder.build()
+
+        then:
+        assert nestedName == "any_Employee.name"
+        assert !nested.is(employee)
+        assert nested.manager.is(nested)
+        assert employee.manager.is(employee)
+    }
+
+    def "Each build creates a new object graph"() {
+        given:
+        def builder = AutoBuilder.instanceOf(Employee)
+
+        when:
+        def first = builder.build()
+        def second = builder.build()
+
+        then:
+        assert !first.is(second)
+        assert second.manager.is(second)
+        assert !first.department.is(second.department)
+    }
+}
@@ -25,12 +25,6 @@
 package com.github.jakubkolar.autobuilder.specification
 
 import com.github.jakubkolar.autobuilder.AutoBuilder
-import com.google.common.collect.ImmutableCollection
-import com.google.common.collect.ImmutableList
-import com.google.common.collect.ImmutableMap
-import com.google.common.collect.ImmutableSet
-import com.google.common.collect.ImmutableSortedMap
-import com.google.common.collect.ImmutableSortedSet
 import spock.lang.Specification
 
 class LibraryExtensionIT extends Specification {
@@ -43,28 +37,20 @@ class LibraryExtensionIT extends Specification {
         assert instance.decimalField != null
     }
 
-    def "Guava Resolver"() {
+    def "Custom extension resolver registered as a service"() {
         when:
         def instance = AutoBuilder.instanceOf(ExtensionExampleDTO).build()
 
         then:
-        instance.with {
-            collectionField != null
-            listField != null
-            setField != null
-            sortedSetField != null
-            mapField != null
-            sortedMapField != null
-            it
-        }
+        assert instance.extensionTestResolverField == 'Custom Value For @Incubating Field'
     }
 
-    def "Custom extension resolver loaded by ServiceLoader"() {
+    def "Custom extension resolver loaded from the resolver index"() {
         when:
         def instance = AutoBuilder.instanceOf(ExtensionExampleDTO).build()
 
         then:
-        assert instance.extensionTestResolverField == 'Custom Value For @Incubating Field'
+        assert instance.indexedTestResolverField == Currency.getInstance('EUR')
     }
 
 }
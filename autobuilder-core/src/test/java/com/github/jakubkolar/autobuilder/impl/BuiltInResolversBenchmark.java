@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.AutoBuilder;
+import com.github.jakubkolar.autobuilder.api.BuilderDSL;
+import com.github.jakubkolar.autobuilder.bug.EnumFields;
+import com.github.jakubkolar.autobuilder.specification.NonEmptyEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolution of enum and array fields by the built-in resolvers, alone and as a
+ * part of building an {@link EnumFields} instance.
+ *
+ * <p> Not a test, run the {@link #main(String[])} method from the test classpath, the
+ * {@code gc.alloc.rate.norm} reported by the GC profiler should be zero for the
+ * resolution of the enum and array fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuiltInResolversBenchmark {
+
+    private static final Optional<Type> NO_TYPE_INFO = Optional.empty();
+    private static final Collection<Annotation> NO_ANNOTATIONS = Collections.emptyList();
+
+    private BuiltInResolvers resolvers;
+    private BuilderDSL<EnumFields> builder;
+
+    @Setup
+    public void setUp() {
+        resolvers = new BuiltInResolvers();
+        builder = AutoBuilder.instanceOf(EnumFields.class);
+    }
+
+    @Benchmark
+    public Object enumField() {
+        return resolvers.tryResolve(NonEmptyEnum.class, NO_TYPE_INFO, "EnumFields.e", NO_ANNOTATIONS);
+    }
+
+    @Benchmark
+    public Object arrayField() {
+        return resolvers.tryResolve(String[].class, NO_TYPE_INFO, "EnumFields.a", NO_ANNOTATIONS);
+    }
+
+    @Benchmark
+    public EnumFields buildEnumFields() {
+        return builder.build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BuiltInResolversBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
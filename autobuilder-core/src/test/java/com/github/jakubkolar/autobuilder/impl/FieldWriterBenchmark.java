@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.AutoBuilder;
+import com.github.jakubkolar.autobuilder.specification.Address;
+import com.github.jakubkolar.autobuilder.specification.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares populating a {@code Person} / {@code Address} graph through the reflective
+ * {@code Field.set} with the {@link FieldWriter}s bound to method handles and with the
+ * compiled {@link BeanPopulator}, and the compiled populator with the plain loop of the
+ * writers for a small and a large bean (the latter decides {@link
+ * BeanPopulator#MAX_COMPILED_FIELDS}).
+ *
+ * <p> Not a test, run the {@link #main(String[])} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldWriterBenchmark {
+
+    private List<FieldMetadata> personFields;
+    private List<FieldMetadata> addressFields;
+    private Object[] personValues;
+    private Object[] addressValues;
+
+    private List<FieldMetadata> largeBeanFields;
+    private Object[] largeBeanValues;
+    private BeanPopulator personCompiled;
+    private BeanPopulator personWriterLoop;
+    private BeanPopulator largeBeanCompiled;
+    private BeanPopulator largeBeanWriterLoop;
+
+    /**
+     * A bean far too large for the method handle tree to be inlined
+     */
+    public static class LargeBean {
+        String f0;
+        int f1;
+        Long f2;
+        boolean f3;
+        String f4;
+        int f5;
+        Long f6;
+        boolean f7;
+        String f8;
+        int f9;
+        Long f10;
+        boolean f11;
+        String f12;
+        int f13;
+        Long f14;
+        boolean f15;
+        String f16;
+        int f17;
+        Long f18;
+        boolean f19;
+        String f20;
+        int f21;
+        Long f22;
+        boolean f23;
+        String f24;
+        int f25;
+        Long f26;
+        boolean f27;
+        String f28;
+        int f29;
+        Long f30;
+        boolean f31;
+        String f32;
+        int f33;
+        Long f34;
+        boolean f35;
+        String f36;
+        int f37;
+        Long f38;
+        boolean f39;
+    }
+
+    @Setup
+    public void setUp() throws IllegalAccessException {
+        personFields = BeanMetadata.of(Person.class).getFields();
+        addressFields = BeanMetadata.of(Address.class).getFields();
+        personValues = valuesOf(AutoBuilder.instanceOf(Person.class).build(), personFields);
+        addressValues = valuesOf(AutoBuilder.instanceOf(Address.class).build(), addressFields);
+
+        largeBeanFields = BeanMetadata.of(LargeBean.class).getFields();
+        largeBeanValues = valuesOf(AutoBuilder.instanceOf(LargeBean.class).build(), largeBeanFields);
+
+        personCompiled = BeanPopulator.of(personFields, false, Integer.MAX_VALUE);
+        personWriterLoop = BeanPopulator.of(personFields, false, 0);
+        largeBeanCompiled = BeanPopulator.of(largeBeanFields, false, Integer.MAX_VALUE);
+        largeBeanWriterLoop = BeanPopulator.of(largeBeanFields, false, 0);
+    }
+
+    @Benchmark
+    public Person reflectiveFieldSet() throws IllegalAccessException {
+        Address address = new Address();
+        for (int i = 0; i < addressFields.size(); i++) {
+            addressFields.get(i).getField().set(address, addressValues[i]);
+        }
+
+        Person person = new Person();
+        for (int i = 0; i < personFields.size(); i++) {
+            personFields.get(i).getField().set(person, personValues[i]);
+        }
+        person.setAddress(address);
+        return person;
+    }
+
+    @Benchmark
+    public Person fieldWriter() throws IllegalAccessException {
+        Address address = new Address();
+        for (int i = 0; i < addressFields.size(); i++) {
+            addressFields.get(i).getWriter().write(address, addressValues[i]);
+        }
+
+        Person person = new Person();
+        for (int i = 0; i < personFields.size(); i++) {
+            personFields.get(i).getWriter().write(person, personValues[i]);
+        }
+        person.setAddress(address);
+        return person;
+    }
+
+    @Benchmark
+    public Person compiledPopulator() throws IllegalAccessException {
+        Address address = new Address();
+        BeanMetadata.of(Address.class).getPopulator().populate(address, addressValues);
+
+        Person person = new Person();
+        BeanMetadata.of(Person.class).getPopulator().populate(person, personValues);
+        person.setAddress(address);
+        return person;
+    }
+
+    @Benchmark
+    public Person personCompiled() throws IllegalAccessException {
+        Person person = new Person();
+        personCompiled.populate(person, personValues);
+        return person;
+    }
+
+    @Benchmark
+    public Person personWriterLoop() throws IllegalAccessException {
+        Person person = new Person();
+        personWriterLoop.populate(person, personValues);
+        return person;
+    }
+
+    @Benchmark
+    public LargeBean largeBeanCompiled() throws IllegalAccessException {
+        LargeBean bean = new LargeBean();
+        largeBeanCompiled.populate(bean, largeBeanValues);
+        return bean;
+    }
+
+    @Benchmark
+    public LargeBean largeBeanWriterLoop() throws IllegalAccessException {
+        LargeBean bean = new LargeBean();
+        largeBeanWriterLoop.populate(bean, largeBeanValues);
+        return bean;
+    }
+
+    private static Object[] valuesOf(Object instance, List<FieldMetadata> fields) throws IllegalAccessException {
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).getField().get(instance);
+        }
+        return values;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FieldWriterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.impl;
+
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a chain whose built-in resolvers reject a {@code Comparable<Thread>} field (it
+ * is then resolved by the next resolver), with and without the {@link RejectionCache}, and
+ * a {@code String} field, which the built-in resolvers never reject.
+ *
+ * <p> Not a test, run the {@link #main(String[])} method from the test classpath. The
+ * cached variant should be faster for the rejected field, and both variants should be
+ * the same for the {@code String} field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionCacheBenchmark {
+
+    private static final Collection<Annotation> NO_ANNOTATIONS = Collections.emptyList();
+
+    static class Sortable {
+        Comparable<Thread> byThread;
+    }
+
+    private Optional<Type> comparableOfThread;
+    private ResolverChain cached;
+    private ResolverChain uncached;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        comparableOfThread = Optional.of(Sortable.class.getDeclaredField("byThread").getGenericType());
+        ExactTypeConstantResolver<?> comparables = new ExactTypeConstantResolver<>(Comparable.class, 0);
+        cached = new ResolverChain(new BuiltInResolvers(), comparables);
+        uncached = new ResolverChain(notTypeOnly(new BuiltInResolvers()), comparables);
+    }
+
+    private static NonThrowingValueResolver notTypeOnly(NonThrowingValueResolver delegate) {
+        return new NonThrowingValueResolver() {
+            @Override
+            public boolean supports(Class<?> type) {
+                return delegate.supports(type);
+            }
+
+            @Nullable
+            @Override
+            public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+                return delegate.tryResolve(type, typeInfo, name, annotations);
+            }
+        };
+    }
+
+    @Benchmark
+    public Object rejectedCached() {
+        return cached.tryResolve(Comparable.class, comparableOfThread, "Sortable.byThread", NO_ANNOTATIONS);
+    }
+
+    @Benchmark
+    public Object rejectedUncached() {
+        return uncached.tryResolve(Comparable.class, comparableOfThread, "Sortable.byThread", NO_ANNOTATIONS);
+    }
+
+    @Benchmark
+    public Object stringCached() {
+        return cached.tryResolve(String.class, Optional.empty(), "Sortable.name", NO_ANNOTATIONS);
+    }
+
+    @Benchmark
+    public Object stringUncached() {
+        return uncached.tryResolve(String.class, Optional.empty(), "Sortable.name", NO_ANNOTATIONS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RejectionCacheBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
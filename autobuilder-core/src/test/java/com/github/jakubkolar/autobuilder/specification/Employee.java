@@ -22,25 +22,15 @@
  * SOFTWARE.
  */
 
-package com.github.jakubkolar.autobuilder.impl;
+package com.github.jakubkolar.autobuilder.specification;
 
-import com.github.jakubkolar.autobuilder.spi.ValueResolver;
-
-import javax.annotation.concurrent.ThreadSafe;
-import java.lang.annotation.Annotation;
-
-/**
- * *** INTERNAL ***
- *
- * <p> API for registering global resolvers.
- *
- * @see ValueResolver
+/*
+ * Self-referencing (manager) and mutually referencing (department.head) entities
  */
-@ThreadSafe
-public interface ResolversRegistry {
-
-    ResolversRegistry registerValue(String name, Object value, Annotation... requiredAnnotations);
+public class Employee {
 
-    ResolversRegistry registerResolver(ValueResolver resolver);
+    String name;
+    Employee manager;
+    Department department;
 
 }
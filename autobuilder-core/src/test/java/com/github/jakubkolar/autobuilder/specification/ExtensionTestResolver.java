@@ -25,6 +25,7 @@
 package com.github.jakubkolar.autobuilder.specification;
 
 import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.auto.service.AutoService;
 import org.mockito.Incubating;
 
 import javax.annotation.Nullable;
@@ -36,6 +37,7 @@ import java.util.Optional;
 /**
  * A special resolver created only for testing the library extension feature.
  */
+@AutoService(ValueResolver.class)
 public class ExtensionTestResolver implements ValueResolver {
 
     @Nullable
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.specification;
+
+import com.github.jakubkolar.autobuilder.spi.ResolvedTypes;
+import com.github.jakubkolar.autobuilder.spi.ValueResolver;
+import com.google.auto.service.AutoService;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A special resolver created only for testing the resolver index, it fails the test if it
+ * is asked for any other type than the declared one. It counts its instances, so that
+ * the tests can check how many times the resolvers were loaded.
+ */
+@AutoService(ValueResolver.class)
+@ResolvedTypes(Currency.class)
+public class IndexedTestResolver implements ValueResolver {
+
+    public static final AtomicInteger instances = new AtomicInteger();
+
+    public IndexedTestResolver() {
+        instances.incrementAndGet();
+    }
+
+    @Nullable
+    @Override
+    public <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+        if (type != Currency.class) {
+            throw new AssertionError(getClass().getSimpleName() + " asked for an undeclared type " + type.getSimpleName());
+        }
+        return type.cast(Currency.getInstance("EUR"));
+    }
+
+}
@@ -28,11 +28,14 @@ import com.github.jakubkolar.autobuilder.api.BuilderDSL;
 import groovy.lang.Closure;
 import groovy.lang.GroovyObjectSupport;
 import org.codehaus.groovy.runtime.GroovyCategorySupport;
+import org.codehaus.groovy.runtime.NullObject;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,7 +79,8 @@ class TableDSL {
      * set up a new row in the context.
      */
     public static TableRow or(Object self, Object argument) {
-        TableRow newRow = TableRow.of(self, argument);
+        // A row starting with null, e.g. 'null | 1', is called on Groovy's null object
+        TableRow newRow = TableRow.of(self instanceof NullObject ? null : self, argument);
         context.get().addRow(newRow);
         return newRow;
     }
@@ -154,10 +158,12 @@ class TableDSL {
 
         private BuilderDSL<T> builder;
         private final List<TableRow> collectedRows;
+        private final Map<String, Object> properties;
 
         public Context(BuilderDSL<T> builder) {
             this.builder = builder;
             this.collectedRows = new ArrayList<>();
+            this.properties = new LinkedHashMap<>();
         }
 
         public void addRow(TableRow newRow) {
@@ -165,17 +171,24 @@ class TableDSL {
         }
 
         public void addProperty(String property, @Nullable Object newValue) {
-            builder = builder.with(property, newValue);
+            // Collected and passed to the builder all at once, unless the same property
+            // is set again (the builder has to see both values, in order)
+            if (properties.containsKey(property)) {
+                builder = builder.with(properties);
+                properties.clear();
+            }
+            properties.put(property, newValue);
         }
 
         @Nullable
         public T buildSingle() {
-            return builder.build();
+            return builder.with(properties).build();
         }
 
         public List<T> buildMany() {
+            BuilderDSL<T> common = builder.with(properties);
             return Table.of(collectedRows).stream()
-                    .map(props -> builder.with(props).build())
+                    .map(props -> common.with(props).build())
                     .collect(Collectors.toList());
         }
     }
@@ -24,6 +24,8 @@
 
 package com.github.jakubkolar.autobuilder.groovy
 
+import com.github.jakubkolar.autobuilder.api.BuilderDSL
+import org.codehaus.groovy.runtime.NullObject
 import spock.lang.Specification
 
 class TableDSLTest extends Specification {
@@ -122,6 +124,88 @@ class TableDSLTest extends Specification {
         ]
     }
 
+    def "Repeated assignment of a property passes both values to the builder in order"() {
+        given:
+        BuilderDSL<Map<String, Object>> builder = Mock()
+        BuilderDSL<Map<String, Object>> first = Mock()
+        BuilderDSL<Map<String, Object>> second = Mock()
+
+        when:
+        TableDSL.parseSingle builder, {
+            a = 1
+            b.c = 2
+            a = 3
+        }
+
+        then:
+        1 * builder.with([a: 1, 'b.c': 2]) >> first
+
+        then:
+        1 * first.with([a: 3]) >> second
+
+        then:
+        1 * second.build()
+        0 * _
+    }
+
+    def "Last column of a repeated column name wins"() {
+        when:
+        def table = TableDSL.parseTable builder, {
+            a | b | a
+            1 | 2 | 3
+        }
+
+        then:
+        assert table == [[a: 3, b: 2]]
+    }
+
+    def "Assignment DSL is applied after the properties set explicitly on the builder"() {
+        when:
+        def result = TableDSL.parseSingle builder.with('a', 'explicit').with('b', 'explicit'), {
+            a = 'dsl'
+        }
+
+        then:
+        assert result == [a: 'dsl', b: 'explicit']
+    }
+
+    def "Table DSL is applied after the properties set explicitly on the builder"() {
+        when:
+        def table = TableDSL.parseTable builder.with(a: 'explicit', b: 'explicit', c: 'explicit'), {
+            b = 'dsl'
+
+            a | x
+            1 | 2
+        }
+
+        then:
+        assert table == [[a: 1, b: 'dsl', c: 'explicit', x: 2]]
+    }
+
+    def "Null assignments and cells are passed to the builder as null values"() {
+        when:
+        def single = TableDSL.parseSingle builder.with('a', 'explicit'), {
+            a = null
+            b = null
+        }
+        def table = TableDSL.parseTable builder, {
+            a = 'assigned'
+
+            a    | b
+            null | 1
+            2    | null
+        }
+
+        then:
+        assert single == [a: null, b: null]
+        assert table == [
+                [a: null, b: 1],
+                [a: 2, b: null],
+        ]
+        // Groovy's null object equals null, but the builder would take it as a value
+        assert !(table[0].a instanceof NullObject)
+    }
+
     def "Table DSL correctly interprets the | operator for all possible values"() {
         when:
         def table = TableDSL.parseTable builder, {
@@ -213,6 +213,23 @@ class GroovyExtensionsIT extends Specification {
         assert actual == expected
     }
 
+    def "Null cells set the properties to null, next to the explicit properties"() {
+        when:
+        def people = a Person with(emailVerified: true) fromTable {
+            firstName = 'Harry'
+
+            login    | email
+            'harryp' | null
+            null     | 'apwbd@beards.com'
+        }
+
+        then:
+        assert people*.firstName == ['Harry', 'Harry']
+        assert people*.emailVerified == [true, true]
+        assert people*.login == ['harryp', null]
+        assert people*.email == [null, 'apwbd@beards.com']
+    }
+
     String prettyPrintSimple(List<Person> people) {
         people.collect { "Person[$it.login, $it.email]" } sort() join '\n'
     }
@@ -24,6 +24,9 @@
 
 package com.github.jakubkolar.autobuilder.resolvers;
 
+import com.github.jakubkolar.autobuilder.spi.NonThrowingValueResolver;
+import com.github.jakubkolar.autobuilder.spi.ResolvedTypes;
+import com.github.jakubkolar.autobuilder.spi.Unresolved;
 import com.github.jakubkolar.autobuilder.spi.ValueResolver;
 import com.google.auto.service.AutoService;
 import com.google.common.collect.ImmutableCollection;
@@ -57,11 +60,24 @@ import java.util.Optional;
  * @since 0.0.1
  */
 @AutoService(ValueResolver.class)
-public class GuavaResolver implements ValueResolver {
+@ResolvedTypes({com.google.common.base.Optional.class, ImmutableCollection.class, ImmutableMap.class})
+public class GuavaResolver implements NonThrowingValueResolver {
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return Objects.equals(type, com.google.common.base.Optional.class)
+                || ImmutableCollection.class.isAssignableFrom(type)
+                || ImmutableMap.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public boolean isTypeOnly() {
+        return true;
+    }
 
     @Nullable
     @Override
-    public <T> T resolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
+    public <T> Object tryResolve(Class<T> type, Optional<Type> typeInfo, String name, Collection<Annotation> annotations) {
         if (Objects.equals(type, com.google.common.base.Optional.class)) {
             return type.cast(com.google.common.base.Optional.absent());
         }
@@ -84,7 +100,7 @@ public class GuavaResolver implements ValueResolver {
             }
         }
 
-        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot resolve type " + type.getSimpleName());
+        return Unresolved.INSTANCE;
     }
 
 }
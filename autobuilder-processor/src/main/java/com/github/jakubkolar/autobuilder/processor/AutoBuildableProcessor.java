@@ -0,0 +1,312 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.processor;
+
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code GeneratedPopulator} for each class annotated with {@code
+ * AutoBuildable} and registers all of them in {@code META-INF/services}.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ */
+@AutoService(Processor.class)
+public class AutoBuildableProcessor extends AbstractProcessor {
+
+    private static final String PREFIX = "AutoBuildable_";
+
+    private static final String AUTO_BUILDABLE = "com.github.jakubkolar.autobuilder.api.AutoBuildable";
+
+    private static final String GENERATED_POPULATOR = "com.github.jakubkolar.autobuilder.spi.GeneratedPopulator";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + GENERATED_POPULATOR;
+
+    private final Set<String> generatedPopulators = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(AUTO_BUILDABLE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        TypeElement autoBuildable = processingEnv.getElementUtils().getTypeElement(AUTO_BUILDABLE);
+        if (autoBuildable != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(autoBuildable)) {
+                if (isValid(element)) {
+                    generatePopulator((TypeElement) element);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isValid(Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return error(element, "@AutoBuildable can only be used on classes");
+        }
+
+        TypeElement type = (TypeElement) element;
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return error(element, "@AutoBuildable cannot be used on local or anonymous classes");
+        }
+
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return error(element, "@AutoBuildable cannot be used on inner (non-static) classes");
+        }
+
+        // The generated class must be able to access the annotated class, and all its
+        // enclosing classes, from the same package
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return error(element, "@AutoBuildable cannot be used on private classes");
+            }
+        }
+
+        return true;
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    private void generatePopulator(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String typeName = erasure(type.asType());
+        String populatorName = PREFIX + flatName(type);
+        String qualifiedName = packageName.isEmpty() ? populatorName : packageName + '.' + populatorName;
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ';');
+                out.println();
+            }
+            out.println("// Generated by " + getClass().getName() + ", do not edit");
+            out.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            out.println("public final class " + populatorName
+                    + " implements " + GENERATED_POPULATOR + '<' + typeName + "> {");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + typeName + "> getType() {");
+            out.println("        return " + typeName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + typeName + " newInstance() {");
+            out.println("        return " + (hasUsableConstructor(type) ? "new " + typeName + "()" : "null") + ';');
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.function.BiConsumer<Object, Object> getSetter(java.lang.reflect.Field field) {");
+            for (Map.Entry<TypeElement, List<VariableElement>> declared : writableFields(type, pkg).entrySet()) {
+                String declaringName = erasure(declared.getKey().asType());
+                out.println("        if (field.getDeclaringClass() == " + declaringName + ".class) {");
+                out.println("            switch (field.getName()) {");
+                for (VariableElement field : declared.getValue()) {
+                    out.println("                case \"" + field.getSimpleName() + "\":");
+                    out.println("                    return (instance, value) -> ((" + declaringName + ") instance)."
+                            + field.getSimpleName() + " = (" + boxedErasure(field.asType()) + ") value;");
+                }
+                out.println("            }");
+                out.println("        }");
+            }
+            out.println("        return null;");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            error(type, "Cannot generate the populator " + qualifiedName + ": " + e);
+            return;
+        }
+
+        generatedPopulators.add(binaryName(pkg, populatorName));
+    }
+
+    private boolean hasUsableConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Collects the fields of the type and its superclasses the generated code can write
+     * to, grouped by their declaring class.
+     */
+    private Map<TypeElement, List<VariableElement>> writableFields(TypeElement type, PackageElement pkg) {
+        Map<TypeElement, List<VariableElement>> result = new LinkedHashMap<>();
+
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            boolean samePackage = processingEnv.getElementUtils().getPackageOf(current).equals(pkg);
+            boolean accessibleClass = samePackage || isPublic(current);
+
+            List<VariableElement> fields = new ArrayList<>();
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.PRIVATE)
+                        || modifiers.contains(Modifier.STATIC)
+                        || modifiers.contains(Modifier.FINAL)) {
+                    continue;
+                }
+                if (accessibleClass && (samePackage || modifiers.contains(Modifier.PUBLIC))) {
+                    fields.add(field);
+                }
+            }
+            if (!fields.isEmpty()) {
+                result.put(current, fields);
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+
+        return result;
+    }
+
+    private static boolean isPublic(TypeElement type) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (!e.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String boxedErasure(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return erasure(type);
+    }
+
+    private static String flatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name = e.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    private static String binaryName(PackageElement pkg, String simpleName) {
+        return pkg.isUnnamed() ? simpleName : pkg.getQualifiedName() + "." + simpleName;
+    }
+
+    private void writeServiceFile() {
+        if (generatedPopulators.isEmpty()) {
+            return;
+        }
+
+        // Keep the entries from previous (incremental) compilations
+        Set<String> allPopulators = new TreeSet<>(generatedPopulators);
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        allPopulators.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // No previous file, nothing to merge
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String populator : allPopulators) {
+                    writer.write(populator);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + SERVICE_FILE + ": " + e);
+        }
+    }
+}
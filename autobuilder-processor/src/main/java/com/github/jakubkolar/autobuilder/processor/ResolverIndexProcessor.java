@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jakub Kolar
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.jakubkolar.autobuilder.processor;
+
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes the resolver index: each {@code ValueResolver} registered with
+ * {@code AutoService} and the types declared by its {@code ResolvedTypes}.
+ *
+ * <p> The index is a text file, each line has the binary name of a resolver followed by
+ * the binary names of its resolved types (if declared), separated by spaces.
+ *
+ * @author Jakub Kolar
+ * @since 0.3
+ */
+@AutoService(Processor.class)
+public class ResolverIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Where the index is written, the same resource is read by the core
+     */
+    public static final String INDEX_FILE = "META-INF/autobuilder/resolvers";
+
+    private static final String AUTO_SERVICE = "com.google.auto.service.AutoService";
+
+    private static final String RESOLVED_TYPES = "com.github.jakubkolar.autobuilder.spi.ResolvedTypes";
+
+    private static final String VALUE_RESOLVER = "com.github.jakubkolar.autobuilder.spi.ValueResolver";
+
+    /**
+     * Resolver name -> its line in the index
+     */
+    private final Map<String, String> indexedResolvers = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(AUTO_SERVICE, RESOLVED_TYPES));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        TypeElement resolvedTypes = processingEnv.getElementUtils().getTypeElement(RESOLVED_TYPES);
+        if (resolvedTypes != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(resolvedTypes)) {
+                if (!isServiceOf(element, VALUE_RESOLVER)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "@ResolvedTypes has no effect without @AutoService(ValueResolver.class)", element);
+                }
+            }
+        }
+
+        TypeElement autoService = processingEnv.getElementUtils().getTypeElement(AUTO_SERVICE);
+        if (autoService != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(autoService)) {
+                if (isServiceOf(element, VALUE_RESOLVER)) {
+                    index((TypeElement) element);
+                }
+            }
+        }
+
+        // Never claim the annotations, the AutoService processor needs to see them too
+        return false;
+    }
+
+    private void index(TypeElement resolver) {
+        String name = binaryName(resolver);
+        StringBuilder line = new StringBuilder(name);
+        for (TypeMirror type : classValues(resolver, RESOLVED_TYPES)) {
+            line.append(' ').append(binaryName((TypeElement) ((DeclaredType) type).asElement()));
+        }
+        indexedResolvers.put(name, line.toString());
+    }
+
+    private boolean isServiceOf(Element element, String service) {
+        for (TypeMirror type : classValues(element, AUTO_SERVICE)) {
+            if (type instanceof DeclaredType
+                    && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(service)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the classes listed in the {@code value} of the annotation on the element,
+     * empty if there is no such annotation
+     */
+    private static List<TypeMirror> classValues(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return toTypes(entry.getValue().getValue());
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<TypeMirror> toTypes(Object value) {
+        List<TypeMirror> result = new ArrayList<>();
+        if (value instanceof TypeMirror) {
+            // A single class, not written as an array
+            result.add((TypeMirror) value);
+        } else if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                Object type = ((AnnotationValue) item).getValue();
+                if (type instanceof TypeMirror) {
+                    result.add((TypeMirror) type);
+                }
+            }
+        }
+        return result;
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex() {
+        if (indexedResolvers.isEmpty()) {
+            return;
+        }
+
+        // Keep the entries from previous (incremental) compilations, unless recompiled now
+        Map<String, String> allResolvers = new TreeMap<>();
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        allResolvers.put(line.split(" ")[0], line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // No previous file, nothing to merge
+        }
+        allResolvers.putAll(indexedResolvers);
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String line : allResolvers.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + INDEX_FILE + ": " + e);
+        }
+    }
+}